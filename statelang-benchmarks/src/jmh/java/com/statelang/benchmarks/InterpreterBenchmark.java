@@ -0,0 +1,40 @@
+package com.statelang.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.statelang.compilation.ProgramCompiler;
+import com.statelang.compilation.optimization.ProgramOptimizer;
+import com.statelang.diagnostics.Reporter;
+import com.statelang.parsing.ProgramParser;
+import com.statelang.runtime.Interpreter;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class InterpreterBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int stateCount;
+
+    @Param({ "false", "true" })
+    private boolean optimized;
+
+    private Interpreter interpreter;
+
+    @Setup
+    public void setup() {
+        var reporter = new Reporter();
+        var program = ProgramParser.program.tryParse(SyntheticPrograms.generate(stateCount), reporter).orElseThrow();
+        var optimizer = optimized ? ProgramOptimizer.DEFAULT : ProgramOptimizer.NONE;
+
+        interpreter = new Interpreter(ProgramCompiler.compile(reporter, program, null, optimizer).orElseThrow());
+    }
+
+    @Benchmark
+    public long run() {
+        interpreter.reset();
+        return interpreter.run(Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,51 @@
+package com.statelang.benchmarks;
+
+import static com.statelang.tokenization.Token.Kind.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.statelang.diagnostics.Reporter;
+import com.statelang.parsing.lib.Parse;
+import com.statelang.parsing.lib.Parser;
+import com.statelang.tokenization.SourceText;
+import com.statelang.tokenization.Token;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParserMemoBenchmark {
+
+    @Param({ "4", "8", "12", "16" })
+    private int depth;
+
+    @Param({ "false", "true" })
+    private boolean memoized;
+
+    private SourceText sourceText;
+
+    private Parser<Token> parser;
+
+    @Setup
+    public void setup() {
+        sourceText = SourceText.fromString("benchmark", "(".repeat(depth) + "x" + ")".repeat(depth));
+
+        // every level backtracks and parses its parenthesized term twice
+        parser = Parse.recursive(nested -> {
+            var parenthesized = nested.between(Parse.token(OPEN_PARENTHESIS), Parse.token(CLOSE_PARENTHESIS));
+
+            var term = Parse.optional(parenthesized.followedBy(Parse.token(SEMICOLON)))
+                .recover(parenthesized)
+                .or(Parse.token(IDENTIFIER));
+
+            return memoized ? term.memo() : term;
+        });
+    }
+
+    @Benchmark
+    public Optional<Token> parse() {
+        return parser.tryParse(sourceText, new Reporter());
+    }
+}
@@ -0,0 +1,31 @@
+package com.statelang.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.statelang.compilation.CompiledProgram;
+import com.statelang.compilation.ProgramCompiler;
+import com.statelang.diagnostics.Reporter;
+import com.statelang.tokenization.SourceText;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProgramCompilerBenchmark {
+
+    @Param({ "10", "100", "1000", "10000", "100000" })
+    private int stateCount;
+
+    private SourceText sourceText;
+
+    @Setup
+    public void setup() {
+        sourceText = SyntheticPrograms.generate(stateCount);
+    }
+
+    @Benchmark
+    public CompiledProgram compile() {
+        return ProgramCompiler.compile(new Reporter(), sourceText).orElseThrow();
+    }
+}
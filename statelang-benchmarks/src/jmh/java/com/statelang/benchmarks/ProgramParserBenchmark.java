@@ -0,0 +1,38 @@
+package com.statelang.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.statelang.ast.Program;
+import com.statelang.diagnostics.Reporter;
+import com.statelang.parsing.ParsedSource;
+import com.statelang.parsing.ProgramParser;
+import com.statelang.tokenization.SourceText;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProgramParserBenchmark {
+
+    @Param({ "10", "100", "1000", "10000", "100000" })
+    private int stateCount;
+
+    private SourceText sourceText;
+
+    @Setup
+    public void setup() {
+        sourceText = SyntheticPrograms.generate(stateCount);
+    }
+
+    @Benchmark
+    public Program parse() {
+        return ProgramParser.program.tryParse(sourceText, new Reporter()).orElseThrow();
+    }
+
+    @Benchmark
+    public Program parseInParallel() {
+        return ParsedSource.parse(sourceText, ForkJoinPool.commonPool()).program().orElseThrow();
+    }
+}
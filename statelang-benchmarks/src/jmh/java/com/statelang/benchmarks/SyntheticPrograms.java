@@ -0,0 +1,42 @@
+package com.statelang.benchmarks;
+
+import com.statelang.tokenization.SourceText;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class SyntheticPrograms {
+
+    static SourceText generate(int stateCount) {
+        var text = new StringBuilder();
+
+        text.append("state {\n");
+        for (int state = 0; state < stateCount; state++) {
+            text.append("    S").append(state).append(state + 1 < stateCount ? ",\n" : "\n");
+        }
+        text.append("}\n\n");
+
+        text.append("const limit := ").append(stateCount).append(";\n");
+        text.append("let counter := 0;\n");
+        text.append("let label := \"start\";\n");
+        text.append("let done := false;\n\n");
+
+        for (int state = 0; state < stateCount; state++) {
+            var nextState = (state + 1) % stateCount;
+
+            text.append("when S").append(state).append(" {\n");
+            text.append("    assert counter >= 0 and not done;\n");
+            text.append("    counter := counter + ").append(state % 7 + 1).append(" * (limit - 1) % 5;\n");
+            text.append("    if counter > limit {\n");
+            text.append("        label := \"S").append(state).append("\";\n");
+            text.append("        done := counter = limit or label != \"\";\n");
+            text.append("    } else {\n");
+            text.append("        state := S").append(nextState).append(";\n");
+            text.append("    }\n");
+            text.append("}\n\n");
+        }
+
+        return SourceText.fromString("synthetic-" + stateCount, text.toString());
+    }
+}
@@ -0,0 +1,36 @@
+package com.statelang.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.statelang.diagnostics.Reporter;
+import com.statelang.tokenization.SourceText;
+import com.statelang.tokenization.TokenReader;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TokenReaderBenchmark {
+
+    @Param({ "10", "100", "1000", "10000", "100000" })
+    private int stateCount;
+
+    private SourceText sourceText;
+
+    @Setup
+    public void setup() {
+        sourceText = SyntheticPrograms.generate(stateCount);
+    }
+
+    @Benchmark
+    public void readAllTokens(Blackhole blackhole) {
+        var reader = TokenReader.startReading(sourceText, new Reporter());
+
+        while (!reader.atEnd()) {
+            blackhole.consume(reader.currentToken());
+            reader.tryAdvance();
+        }
+    }
+}
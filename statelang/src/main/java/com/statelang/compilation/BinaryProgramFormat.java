@@ -0,0 +1,85 @@
+package com.statelang.compilation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+import com.statelang.model.BooleanInstanceType;
+import com.statelang.model.InstanceType;
+import com.statelang.model.NumberInstanceType;
+import com.statelang.model.StringInstanceType;
+import com.statelang.model.UnknownInstanceType;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class BinaryProgramFormat {
+
+    static final int MAGIC = 0x534c4350; // "SLCP"
+
+    static final int VERSION = 3;
+
+    static final int OP_LABEL = 0;
+    static final int OP_JUMP = 1;
+    static final int OP_JUMP_IF_NOT = 2;
+    static final int OP_PUSH_NUMBER = 3;
+    static final int OP_PUSH_STRING = 4;
+    static final int OP_PUSH_TRUE = 5;
+    static final int OP_PUSH_FALSE = 6;
+    static final int OP_STORE = 7;
+    static final int OP_LOAD = 8;
+    static final int OP_BINARY_OPERATOR = 9;
+    static final int OP_UNARY_OPERATOR = 10;
+    static final int OP_EXIT_SUCCESS = 11;
+    static final int OP_EXIT_FAILURE = 12;
+    static final int OP_STATE = 13;
+    static final int OP_SOURCE_LOCATION = 14;
+    static final int OP_PUSH_INTEGER = 15;
+    static final int OP_JUMP_IF = 16;
+
+    static final int SYMBOL_STATE = 0;
+    static final int SYMBOL_VARIABLE = 1;
+    static final int SYMBOL_CONSTANT = 2;
+
+    static final List<InstanceType<?>> INSTANCE_TYPES = List.of(
+        UnknownInstanceType.INSTANCE,
+        NumberInstanceType.INSTANCE,
+        StringInstanceType.INSTANCE,
+        BooleanInstanceType.INSTANCE
+    );
+
+    static void writeVarInt(DataOutput output, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            output.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+
+        output.writeByte(value);
+    }
+
+    static void writeSignedVarInt(DataOutput output, int value) throws IOException {
+        writeVarInt(output, (value << 1) ^ (value >> 31));
+    }
+
+    static int readVarInt(DataInput input) throws IOException {
+        int value = 0;
+
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("malformed varint");
+    }
+
+    static int readSignedVarInt(DataInput input) throws IOException {
+        int value = readVarInt(input);
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -1,5 +1,8 @@
 package com.statelang.compilation;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import com.statelang.diagnostics.Reporter;
 import com.statelang.model.StateMachine;
 
@@ -7,7 +10,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
-@Builder
+@Builder(toBuilder = true)
 final class CompilationContext {
 
     @Getter
@@ -19,6 +22,14 @@ final class CompilationContext {
     @Getter
     private final CompiledProgram.CompiledProgramBuilder programBuilder;
 
+    @Getter
+    @Builder.Default
+    private final boolean ambiguousDefinition = false;
+
+    @Getter
+    @Builder.Default
+    private final Map<String, Object> constantValues = new HashMap<>();
+
     @Getter
     @Setter
     @Builder.Default
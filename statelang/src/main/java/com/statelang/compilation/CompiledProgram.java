@@ -30,25 +30,48 @@ public final class CompiledProgram {
     @Getter
     private final Map<String, Symbol> symbols;
 
+    /**
+     * Names of the variables and constants, indexed by the memory
+     * slots that load and store instructions refer to.
+     */
+    @Getter
+    private final List<String> memoryKeys;
+
     @Builder(access = AccessLevel.PACKAGE)
     private CompiledProgram(
         StateMachine stateMachine,
         List<Instruction> instructions,
         Map<String, Integer> jumpTable,
-        Map<String, Symbol> symbols)
+        Map<String, Symbol> symbols,
+        List<String> memoryKeys)
     {
         this.stateMachine = stateMachine;
         this.instructions = Collections.unmodifiableList(instructions);
         this.jumpTable = Collections.unmodifiableMap(jumpTable);
         this.symbols = Collections.unmodifiableMap(symbols);
+        this.memoryKeys = Collections.unmodifiableList(memoryKeys);
+    }
+
+    public CompiledProgram withInstructions(List<Instruction> instructions) {
+        var builder = builder()
+            .stateMachine(stateMachine)
+            .symbols(symbols)
+            .memoryKeys(memoryKeys);
+
+        instructions.forEach(builder::instruction);
+        return builder.build();
     }
 
     public static final class CompiledProgramBuilder {
 
+        private Map<String, Integer> memorySlots;
+
         private CompiledProgramBuilder() {
             instructions = new ArrayList<>();
             jumpTable = new HashMap<>();
             symbols = new HashMap<>();
+            memoryKeys = new ArrayList<>();
+            memorySlots = new HashMap<>();
         }
 
         public CompiledProgramBuilder instruction(Instruction instruction) {
@@ -70,6 +93,20 @@ public final class CompiledProgram {
             return this;
         }
 
+        public CompiledProgramBuilder memoryKey(String memoryKey) {
+            Preconditions.checkState(!memorySlots.containsKey(memoryKey), "duplicate memory key");
+            memorySlots.put(memoryKey, memoryKeys.size());
+            memoryKeys.add(memoryKey);
+            return this;
+        }
+
+        /**
+         * Slot of the memory key, or -1 if it has none.
+         */
+        public int memorySlot(String memoryKey) {
+            return memorySlots.getOrDefault(memoryKey, -1);
+        }
+
         public boolean hasDefinedLabel(String label) {
             return jumpTable.containsKey(label);
         }
@@ -78,6 +115,19 @@ public final class CompiledProgram {
             return Collections.unmodifiableMap(symbols);
         }
 
+        CompiledProgramBuilder fork() {
+            var fork = new CompiledProgramBuilder();
+            fork.symbols = symbols;
+            fork.memoryKeys = memoryKeys;
+            fork.memorySlots = memorySlots;
+            return fork;
+        }
+
+        CompiledProgramBuilder join(CompiledProgramBuilder fork) {
+            fork.instructions.forEach(this::instruction);
+            return this;
+        }
+
         @SuppressWarnings("unused")
         private CompiledProgramBuilder instructions(List<Instruction> instructions) {
             this.instructions = instructions;
@@ -95,5 +145,12 @@ public final class CompiledProgram {
             this.symbols = symbols;
             return this;
         }
+
+        private CompiledProgramBuilder memoryKeys(List<String> memoryKeys) {
+            this.memoryKeys = new ArrayList<>();
+            this.memorySlots = new HashMap<>();
+            memoryKeys.forEach(this::memoryKey);
+            return this;
+        }
     }
 }
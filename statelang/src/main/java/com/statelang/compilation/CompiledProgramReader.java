@@ -0,0 +1,212 @@
+package com.statelang.compilation;
+
+import static com.statelang.compilation.BinaryProgramFormat.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+
+import com.statelang.compilation.instruction.*;
+import com.statelang.compilation.symbol.ConstantSymbol;
+import com.statelang.compilation.symbol.StateSymbol;
+import com.statelang.compilation.symbol.Symbol;
+import com.statelang.compilation.symbol.VariableSymbol;
+import com.statelang.model.BinaryOperator;
+import com.statelang.model.InstanceType;
+import com.statelang.model.StateMachine;
+import com.statelang.model.UnaryOperator;
+import com.statelang.tokenization.SourceLocation;
+
+public final class CompiledProgramReader {
+
+    private final DataInputStream input;
+
+    private String[] constantPool;
+
+    private int memorySlotCount;
+
+    private SourceLocation lastLocation = SourceLocation.FIRST_CHARACTER;
+
+    private CompiledProgramReader(byte[] bytes) {
+        // a byte array input knows exactly how many bytes remain
+        input = new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    public static CompiledProgram read(InputStream inputStream) throws IOException {
+        return fromBytes(inputStream.readAllBytes());
+    }
+
+    public static CompiledProgram fromBytes(byte[] bytes) throws IOException {
+        try {
+            return new CompiledProgramReader(bytes).readProgram();
+        } catch (IllegalArgumentException | IllegalStateException | NoSuchElementException exception) {
+            throw new IOException("malformed compiled program", exception);
+        }
+    }
+
+    private CompiledProgram readProgram() throws IOException {
+        if (input.readInt() != MAGIC) {
+            throw new IOException("not a compiled statelang program");
+        }
+
+        var version = readVarInt(input);
+        if (version != VERSION) {
+            throw new IOException("unsupported compiled program version " + version);
+        }
+
+        constantPool = new String[readCount(1)];
+        for (int i = 0; i < constantPool.length; i++) {
+            var bytes = new byte[readCount(1)];
+            input.readFully(bytes);
+            constantPool[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        var programBuilder = CompiledProgram.builder();
+
+        programBuilder.stateMachine(readStateMachine());
+
+        var symbolCount = readCount(2);
+        for (int i = 0; i < symbolCount; i++) {
+            programBuilder.symbol(readSymbol());
+        }
+
+        memorySlotCount = readCount(1);
+        for (int i = 0; i < memorySlotCount; i++) {
+            programBuilder.memoryKey(readConstant());
+        }
+
+        var instructionCount = readCount(1);
+        for (int i = 0; i < instructionCount; i++) {
+            programBuilder.instruction(readInstruction());
+        }
+
+        return programBuilder.build();
+    }
+
+    private StateMachine readStateMachine() throws IOException {
+        var stateMachineBuilder = StateMachine.builder();
+
+        var stateCount = readCount(2);
+        for (int i = 0; i < stateCount; i++) {
+            var name = readConstant();
+
+            var attributeCount = readCount(2);
+            var attributes = new HashMap<String, String>(attributeCount);
+            for (int j = 0; j < attributeCount; j++) {
+                attributes.put(readConstant(), readConstant());
+            }
+
+            stateMachineBuilder.state(new StateMachine.State(name, attributes));
+        }
+
+        stateMachineBuilder.initialState(readConstant());
+
+        var transitionCount = readCount(2);
+        for (int i = 0; i < transitionCount; i++) {
+            var from = readConstant();
+
+            var targetCount = readCount(1);
+            for (int j = 0; j < targetCount; j++) {
+                stateMachineBuilder.transition(from, readConstant());
+            }
+        }
+
+        return stateMachineBuilder.build();
+    }
+
+    private Symbol readSymbol() throws IOException {
+        var kind = input.readUnsignedByte();
+        var id = readConstant();
+
+        return switch (kind) {
+            case SYMBOL_STATE -> new StateSymbol(id);
+            case SYMBOL_VARIABLE -> new VariableSymbol(id, readInstanceType());
+            case SYMBOL_CONSTANT -> new ConstantSymbol(id, readInstanceType());
+            default -> throw new IOException("unknown symbol kind " + kind);
+        };
+    }
+
+    private InstanceType<?> readInstanceType() throws IOException {
+        var index = input.readUnsignedByte();
+        if (index >= INSTANCE_TYPES.size()) {
+            throw new IOException("unknown instance type " + index);
+        }
+
+        return INSTANCE_TYPES.get(index);
+    }
+
+    private Instruction readInstruction() throws IOException {
+        var opcode = input.readUnsignedByte();
+
+        return switch (opcode) {
+            case OP_LABEL -> new LabelInstruction(readConstant());
+            case OP_JUMP -> new JumpToInstruction(readConstant());
+            case OP_JUMP_IF -> new JumpToIfInstruction(readConstant());
+            case OP_JUMP_IF_NOT -> new JumpToIfNotInstruction(readConstant());
+            case OP_PUSH_NUMBER -> new PushInstruction(input.readDouble());
+            case OP_PUSH_INTEGER -> new PushInstruction((double) readSignedVarInt(input));
+            case OP_PUSH_STRING -> new PushInstruction(readConstant());
+            case OP_PUSH_TRUE -> new PushInstruction(true);
+            case OP_PUSH_FALSE -> new PushInstruction(false);
+            case OP_STORE -> new StoreInstruction(readMemorySlot());
+            case OP_LOAD -> new LoadInstruction(readMemorySlot());
+            case OP_BINARY_OPERATOR -> BinaryOperatorInstruction.of(readEnum(BinaryOperator.values()));
+            case OP_UNARY_OPERATOR -> UnaryOperatorInstruction.of(readEnum(UnaryOperator.values()));
+            case OP_EXIT_SUCCESS -> ExitInstruction.SUCCESS;
+            case OP_EXIT_FAILURE -> ExitInstruction.FAILURE;
+            case OP_STATE -> new StateInstruction(readConstant());
+            case OP_SOURCE_LOCATION -> {
+                lastLocation = new SourceLocation(
+                    lastLocation.line() + readSignedVarInt(input),
+                    lastLocation.column() + readSignedVarInt(input)
+                );
+                yield new SourceLocationInstruction(lastLocation);
+            }
+            default -> throw new IOException("unknown opcode " + opcode);
+        };
+    }
+
+    /**
+     * Reads a length or an entry count, checking it against the remaining
+     * input so malformed counts cannot allocate more than the input holds.
+     */
+    private int readCount(int minimumEntrySize) throws IOException {
+        var count = readVarInt(input);
+        if (count < 0 || (long) count * minimumEntrySize > input.available()) {
+            throw new IOException("count " + count + " exceeds the remaining input");
+        }
+
+        return count;
+    }
+
+    private <E> E readEnum(E[] values) throws IOException {
+        var ordinal = input.readUnsignedByte();
+        if (ordinal >= values.length) {
+            throw new IOException("unknown operator " + ordinal);
+        }
+
+        return values[ordinal];
+    }
+
+    private String readConstant() throws IOException {
+        var index = readVarInt(input);
+        if (index < 0 || index >= constantPool.length) {
+            throw new IOException("constant index out of bounds");
+        }
+
+        return constantPool[index];
+    }
+
+    private int readMemorySlot() throws IOException {
+        var slot = readVarInt(input);
+        if (slot < 0 || slot >= memorySlotCount) {
+            throw new IOException("memory slot out of bounds");
+        }
+
+        return slot;
+    }
+}
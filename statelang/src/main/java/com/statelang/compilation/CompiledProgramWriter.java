@@ -0,0 +1,204 @@
+package com.statelang.compilation;
+
+import static com.statelang.compilation.BinaryProgramFormat.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.statelang.compilation.instruction.*;
+import com.statelang.compilation.symbol.ConstantSymbol;
+import com.statelang.compilation.symbol.StateSymbol;
+import com.statelang.compilation.symbol.Symbol;
+import com.statelang.compilation.symbol.VariableSymbol;
+import com.statelang.model.InstanceType;
+import com.statelang.model.StateMachine;
+import com.statelang.tokenization.SourceLocation;
+
+public final class CompiledProgramWriter {
+
+    private final Map<String, Integer> constantPool = new LinkedHashMap<>();
+
+    private final ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+
+    private final DataOutputStream body = new DataOutputStream(bodyBytes);
+
+    private SourceLocation lastLocation = SourceLocation.FIRST_CHARACTER;
+
+    private CompiledProgramWriter() {
+    }
+
+    public static void write(CompiledProgram program, OutputStream outputStream) throws IOException {
+        var writer = new CompiledProgramWriter();
+        writer.writeBody(program);
+
+        var output = new DataOutputStream(outputStream);
+        output.writeInt(MAGIC);
+        writeVarInt(output, VERSION);
+
+        writeVarInt(output, writer.constantPool.size());
+        for (var constant : writer.constantPool.keySet()) {
+            var bytes = constant.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(output, bytes.length);
+            output.write(bytes);
+        }
+
+        writer.bodyBytes.writeTo(output);
+        output.flush();
+    }
+
+    public static byte[] toBytes(CompiledProgram program) {
+        var outputStream = new ByteArrayOutputStream();
+
+        try {
+            write(program, outputStream);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    private void writeBody(CompiledProgram program) throws IOException {
+        writeStateMachine(program.stateMachine());
+
+        writeVarInt(body, program.symbols().size());
+        for (var symbol : program.symbols().values()) {
+            writeSymbol(symbol);
+        }
+
+        writeVarInt(body, program.memoryKeys().size());
+        for (var memoryKey : program.memoryKeys()) {
+            writeConstant(memoryKey);
+        }
+
+        writeVarInt(body, program.instructions().size());
+        for (var instruction : program.instructions()) {
+            writeInstruction(instruction);
+        }
+    }
+
+    private void writeStateMachine(StateMachine stateMachine) throws IOException {
+        writeVarInt(body, stateMachine.states().size());
+        for (var state : stateMachine.states()) {
+            writeConstant(state.name());
+
+            writeVarInt(body, state.attributes().size());
+            for (var attribute : state.attributes().entrySet()) {
+                writeConstant(attribute.getKey());
+                writeConstant(attribute.getValue());
+            }
+        }
+
+        writeConstant(stateMachine.initialState().name());
+
+        var transitions = stateMachine.transitions();
+        writeVarInt(body, transitions.size());
+        for (var transition : transitions.entrySet()) {
+            writeConstant(transition.getKey());
+
+            writeVarInt(body, transition.getValue().size());
+            for (var target : transition.getValue()) {
+                writeConstant(target);
+            }
+        }
+    }
+
+    private void writeSymbol(Symbol symbol) throws IOException {
+        if (symbol instanceof StateSymbol) {
+            body.writeByte(SYMBOL_STATE);
+            writeConstant(symbol.id());
+        } else if (symbol instanceof VariableSymbol variableSymbol) {
+            body.writeByte(SYMBOL_VARIABLE);
+            writeConstant(symbol.id());
+            writeInstanceType(variableSymbol.variableType());
+        } else if (symbol instanceof ConstantSymbol constantSymbol) {
+            body.writeByte(SYMBOL_CONSTANT);
+            writeConstant(symbol.id());
+            writeInstanceType(constantSymbol.constantType());
+        } else {
+            throw new IllegalArgumentException("unsupported symbol " + symbol.getClass().getSimpleName());
+        }
+    }
+
+    private void writeInstanceType(InstanceType<?> instanceType) throws IOException {
+        var index = INSTANCE_TYPES.indexOf(instanceType);
+        if (index < 0) {
+            throw new IllegalArgumentException("unsupported instance type " + instanceType.name());
+        }
+
+        body.writeByte(index);
+    }
+
+    private void writeInstruction(Instruction instruction) throws IOException {
+        if (instruction instanceof LabelInstruction labelInstruction) {
+            body.writeByte(OP_LABEL);
+            writeConstant(labelInstruction.label());
+        } else if (instruction instanceof JumpToInstruction jumpInstruction) {
+            body.writeByte(OP_JUMP);
+            writeConstant(jumpInstruction.destination());
+        } else if (instruction instanceof JumpToIfInstruction jumpInstruction) {
+            body.writeByte(OP_JUMP_IF);
+            writeConstant(jumpInstruction.destination());
+        } else if (instruction instanceof JumpToIfNotInstruction jumpInstruction) {
+            body.writeByte(OP_JUMP_IF_NOT);
+            writeConstant(jumpInstruction.destination());
+        } else if (instruction instanceof PushInstruction pushInstruction) {
+            writePush(pushInstruction.value());
+        } else if (instruction instanceof StoreInstruction storeInstruction) {
+            body.writeByte(OP_STORE);
+            writeVarInt(body, storeInstruction.slot());
+        } else if (instruction instanceof LoadInstruction loadInstruction) {
+            body.writeByte(OP_LOAD);
+            writeVarInt(body, loadInstruction.slot());
+        } else if (instruction instanceof BinaryOperatorInstruction operatorInstruction) {
+            body.writeByte(OP_BINARY_OPERATOR);
+            body.writeByte(operatorInstruction.operator().ordinal());
+        } else if (instruction instanceof UnaryOperatorInstruction operatorInstruction) {
+            body.writeByte(OP_UNARY_OPERATOR);
+            body.writeByte(operatorInstruction.operator().ordinal());
+        } else if (instruction instanceof ExitInstruction exitInstruction) {
+            body.writeByte(exitInstruction.success() ? OP_EXIT_SUCCESS : OP_EXIT_FAILURE);
+        } else if (instruction instanceof StateInstruction stateInstruction) {
+            body.writeByte(OP_STATE);
+            writeConstant(stateInstruction.state());
+        } else if (instruction instanceof SourceLocationInstruction locationInstruction) {
+            var location = locationInstruction.location();
+            body.writeByte(OP_SOURCE_LOCATION);
+            writeSignedVarInt(body, location.line() - lastLocation.line());
+            writeSignedVarInt(body, location.column() - lastLocation.column());
+            lastLocation = location;
+        } else {
+            throw new IllegalArgumentException("unsupported instruction " + instruction.getClass().getSimpleName());
+        }
+    }
+
+    private void writePush(Object value) throws IOException {
+        if (value instanceof Double number) {
+            var integer = number.intValue();
+            if (integer == number && Double.doubleToRawLongBits(number) != Double.doubleToRawLongBits(-0.0)) {
+                body.writeByte(OP_PUSH_INTEGER);
+                writeSignedVarInt(body, integer);
+            } else {
+                body.writeByte(OP_PUSH_NUMBER);
+                body.writeDouble(number);
+            }
+        } else if (value instanceof String string) {
+            body.writeByte(OP_PUSH_STRING);
+            writeConstant(string);
+        } else if (value instanceof Boolean bool) {
+            body.writeByte(bool ? OP_PUSH_TRUE : OP_PUSH_FALSE);
+        } else {
+            throw new IllegalArgumentException("unsupported push value " + value);
+        }
+    }
+
+    private void writeConstant(String constant) throws IOException {
+        writeVarInt(body, constantPool.computeIfAbsent(constant, key -> constantPool.size()));
+    }
+}
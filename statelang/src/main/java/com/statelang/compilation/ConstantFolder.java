@@ -0,0 +1,92 @@
+package com.statelang.compilation;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import com.statelang.ast.*;
+import com.statelang.model.*;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ConstantFolder {
+
+    private static final double MAX_EXACT_INTEGER = 0x1p53;
+
+    /**
+     * Evaluates the subexpressions made of literals and known constants.
+     * Operators are folded only while their number operands and results are
+     * exact integers, so that the frontend interpreter with arbitrary precision
+     * decimals computes the same values as the folded ones.
+     */
+    static Map<ValueExpressionNode, Object> fold(CompilationContext context, ValueExpressionNode expressionNode) {
+        var values = new IdentityHashMap<ValueExpressionNode, Object>();
+        evaluate(context, expressionNode, values);
+        return values;
+    }
+
+    static InstanceType<?> instanceType(Object value) {
+        if (value instanceof Boolean) {
+            return BooleanInstanceType.INSTANCE;
+        }
+
+        if (value instanceof String) {
+            return StringInstanceType.INSTANCE;
+        }
+
+        return NumberInstanceType.INSTANCE;
+    }
+
+    @Nullable
+    private static Object evaluate(
+        CompilationContext context,
+        ValueExpressionNode expressionNode,
+        Map<ValueExpressionNode, Object> values)
+    {
+        Object value = null;
+
+        if (expressionNode instanceof LiteralValueNode literal) {
+            value = literal.value();
+        } else if (expressionNode instanceof VariableValueNode variable) {
+            value = context.constantValues().get(variable.identifier());
+        } else if (expressionNode instanceof UnaryValueExpressionNode unaryExpression) {
+            var right = evaluate(context, unaryExpression.right(), values);
+
+            if (isExact(right)) {
+                value = instanceType(right)
+                    .getOperator(unaryExpression.operator())
+                    .map(instanceOperator -> (Object) instanceOperator.evaluate(right))
+                    .filter(ConstantFolder::isExact)
+                    .orElse(null);
+            }
+        } else if (expressionNode instanceof BinaryValueExpressionNode binaryExpression) {
+            var left = evaluate(context, binaryExpression.left(), values);
+            var right = evaluate(context, binaryExpression.right(), values);
+
+            if (isExact(left) && isExact(right)) {
+                value = instanceType(left)
+                    .getOperator(binaryExpression.operator(), instanceType(right))
+                    .map(instanceOperator -> (Object) instanceOperator.evaluate(left, right))
+                    .filter(ConstantFolder::isExact)
+                    .orElse(null);
+            }
+        }
+
+        if (value != null) {
+            values.put(expressionNode, value);
+        }
+
+        return value;
+    }
+
+    private static boolean isExact(@Nullable Object value) {
+        if (value instanceof Double number) {
+            return number == Math.rint(number) && Math.abs(number) <= MAX_EXACT_INTEGER;
+        }
+
+        return value != null;
+    }
+}
@@ -121,9 +121,7 @@ final class DefinitionCompiler {
         var stateMachineBuilder = context.stateMachineBuilder();
         var state = inStateDefinition.state();
 
-        var isStateDefined = stateMachineBuilder.definedStates()
-            .stream()
-            .anyMatch(definedState -> definedState.name().equals(state));
+        var isStateDefined = stateMachineBuilder.isStateDefined(state);
 
         if (!isStateDefined) {
             context.reporter().report(
@@ -136,7 +134,7 @@ final class DefinitionCompiler {
 
         var programBuilder = context.programBuilder();
 
-        if (programBuilder.hasDefinedLabel(state)) {
+        if (context.ambiguousDefinition() || programBuilder.hasDefinedLabel(state)) {
             context.reporter().report(
                 Report.builder()
                     .kind(Report.Kind.AMBIGUOUS_DEFINITION)
@@ -177,10 +175,12 @@ final class DefinitionCompiler {
         var expressionType = ValueExpressionCompiler.compile(context, definition.initialVariableValue());
 
         if (!isDuplicate) {
-            programBuilder.symbol(new VariableSymbol(variableName, expressionType));
+            programBuilder
+                .symbol(new VariableSymbol(variableName, expressionType))
+                .memoryKey(variableName);
         }
 
-        programBuilder.instruction(new StoreInstruction(variableName));
+        programBuilder.instruction(new StoreInstruction(programBuilder.memorySlot(variableName)));
     }
 
     private static void compileConstantDefinition(CompilationContext context, ConstantDefinition definition) {
@@ -194,13 +194,22 @@ final class DefinitionCompiler {
             new SourceLocationInstruction(definition.initialConstantValue().selection().start())
         );
 
-        var expressionType = ValueExpressionCompiler.compile(context, definition.initialConstantValue());
+        var initialValue = definition.initialConstantValue();
+        var constantValue = ConstantFolder.fold(context, initialValue).get(initialValue);
+
+        var expressionType = ValueExpressionCompiler.compile(context, initialValue);
 
         if (!isDuplicate) {
-            programBuilder.symbol(new ConstantSymbol(constantName, expressionType));
+            programBuilder
+                .symbol(new ConstantSymbol(constantName, expressionType))
+                .memoryKey(constantName);
+
+            if (constantValue != null) {
+                context.constantValues().put(constantName, constantValue);
+            }
         }
 
-        programBuilder.instruction(new StoreInstruction(constantName));
+        programBuilder.instruction(new StoreInstruction(programBuilder.memorySlot(constantName)));
     }
 
     private static boolean checkDuplicateSymbol(
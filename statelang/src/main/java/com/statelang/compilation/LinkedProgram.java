@@ -0,0 +1,84 @@
+package com.statelang.compilation;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+import com.statelang.compilation.instruction.Instruction;
+import com.statelang.compilation.symbol.Symbol;
+import com.statelang.model.StateMachine;
+import com.statelang.tokenization.SourceLocation;
+
+import lombok.Getter;
+
+public final class LinkedProgram {
+
+    @Getter
+    private final StateMachine stateMachine;
+
+    @Getter
+    private final Map<String, Symbol> symbols;
+
+    @Getter
+    private final List<String> memoryKeys;
+
+    @Getter
+    private final List<Instruction> instructions;
+
+    private final int[] jumpTargets;
+
+    private final int[] locationOffsets;
+
+    private final SourceLocation[] locations;
+
+    LinkedProgram(
+        StateMachine stateMachine,
+        Map<String, Symbol> symbols,
+        List<String> memoryKeys,
+        Instruction[] instructions,
+        int[] jumpTargets,
+        int[] locationOffsets,
+        SourceLocation[] locations)
+    {
+        this.stateMachine = stateMachine;
+        this.symbols = symbols;
+        this.memoryKeys = memoryKeys;
+        this.instructions = List.of(instructions);
+        this.jumpTargets = jumpTargets;
+        this.locationOffsets = locationOffsets;
+        this.locations = locations;
+    }
+
+    public int size() {
+        return instructions.size();
+    }
+
+    /**
+     * Instruction index a jump at the given index continues at,
+     * or -1 if the instruction is not a jump.
+     */
+    public int jumpTarget(int index) {
+        Preconditions.checkElementIndex(index, jumpTargets.length);
+        return jumpTargets[index];
+    }
+
+    /**
+     * Source locations set before the instruction at the given index are
+     * {@code location(locationsStart(index))} up to {@code locationsEnd(index)}.
+     * Index {@link #size()} holds the locations after the last instruction.
+     */
+    public int locationsStart(int index) {
+        Preconditions.checkPositionIndex(index, instructions.size());
+        return locationOffsets[index];
+    }
+
+    public int locationsEnd(int index) {
+        Preconditions.checkPositionIndex(index, instructions.size());
+        return locationOffsets[index + 1];
+    }
+
+    public SourceLocation location(int locationIndex) {
+        Preconditions.checkElementIndex(locationIndex, locations.length);
+        return locations[locationIndex];
+    }
+}
@@ -1,20 +1,26 @@
 package com.statelang.compilation;
 
-import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Predicate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nullable;
 
 import com.google.common.base.Suppliers;
 import com.statelang.ast.*;
 import com.statelang.compilation.instruction.ExitInstruction;
 import com.statelang.compilation.instruction.JumpToInstruction;
 import com.statelang.compilation.instruction.StateInstruction;
+import com.statelang.compilation.optimization.ProgramOptimizer;
 import com.statelang.diagnostics.Report;
 import com.statelang.diagnostics.Reporter;
 import com.statelang.model.StateMachine;
+import com.statelang.parsing.ParsedSource;
 import com.statelang.parsing.ProgramParser;
 import com.statelang.tokenization.SourceSelection;
 import com.statelang.tokenization.SourceText;
@@ -26,6 +32,19 @@ import lombok.NoArgsConstructor;
 public final class ProgramCompiler {
 
     public static Optional<CompiledProgram> compile(Reporter reporter, Program program) {
+        return compile(reporter, program, null);
+    }
+
+    public static Optional<CompiledProgram> compile(Reporter reporter, Program program, @Nullable ForkJoinPool pool) {
+        return compile(reporter, program, pool, ProgramOptimizer.DEFAULT);
+    }
+
+    public static Optional<CompiledProgram> compile(
+        Reporter reporter,
+        Program program,
+        @Nullable ForkJoinPool pool,
+        ProgramOptimizer optimizer)
+    {
         var stateMachineBuilder = StateMachine.builder();
         var programBuilder = CompiledProgram.builder();
 
@@ -53,7 +72,7 @@ public final class ProgramCompiler {
                 .instruction(ExitInstruction.SUCCESS);
         }
 
-        inStateDefinitions.forEach(def -> DefinitionCompiler.compile(compilationContext, def));
+        compileInStateDefinitions(compilationContext, inStateDefinitions, pool);
 
         if (!nonInStateDefinitions.stream().anyMatch(def -> def instanceof StateDefinition)) {
             reporter.report(
@@ -72,12 +91,70 @@ public final class ProgramCompiler {
         warnUnreachableStates(reporter, definitions, stateMachine);
 
         programBuilder.stateMachine(stateMachine);
-        return Optional.of(programBuilder.build());
+        return Optional.of(optimizer.optimize(programBuilder.build()));
     }
 
     public static Optional<CompiledProgram> compile(Reporter reporter, SourceText sourceText) {
-        var program = ProgramParser.program.tryParse(sourceText, reporter);
-        return program.flatMap(programTree -> compile(reporter, programTree));
+        return compile(reporter, sourceText, null);
+    }
+
+    public static Optional<CompiledProgram> compile(
+        Reporter reporter,
+        SourceText sourceText,
+        @Nullable ForkJoinPool pool)
+    {
+        Optional<Program> program;
+
+        if (pool != null) {
+            program = ParsedSource.parse(sourceText, pool, reporter).program();
+        } else {
+            program = ProgramParser.program.tryParse(sourceText, reporter);
+        }
+
+        return program.flatMap(programTree -> compile(reporter, programTree, pool));
+    }
+
+    private static void compileInStateDefinitions(
+        CompilationContext context,
+        List<Definition> inStateDefinitions,
+        @Nullable ForkJoinPool pool)
+    {
+        var definedStates = new HashSet<String>();
+
+        var blockContexts = inStateDefinitions
+            .stream()
+            .map(def -> CompilationContext.builder()
+                .reporter(new Reporter())
+                .stateMachineBuilder(context.stateMachineBuilder().fork())
+                .programBuilder(context.programBuilder().fork())
+                .constantValues(context.constantValues())
+                .ambiguousDefinition(!definedStates.add(((InStateDefinition) def).state()))
+                .build()
+            )
+            .toList();
+
+        IntConsumer compileBlock = i -> DefinitionCompiler.compile(blockContexts.get(i), inStateDefinitions.get(i));
+
+        var blockTasks = pool != null
+            ? IntStream.range(0, blockContexts.size())
+                .mapToObj(i -> pool.submit(() -> compileBlock.accept(i)))
+                .toList()
+            : null;
+
+        // blocks are joined in source order, so each block's reports are passed on
+        // as soon as it and all blocks before it are compiled
+        for (int i = 0; i < blockContexts.size(); i++) {
+            if (blockTasks != null) {
+                blockTasks.get(i).join();
+            } else {
+                compileBlock.accept(i);
+            }
+
+            var blockContext = blockContexts.get(i);
+            blockContext.reporter().reports().forEach(context.reporter()::report);
+            context.programBuilder().join(blockContext.programBuilder());
+            context.stateMachineBuilder().join(blockContext.stateMachineBuilder());
+        }
     }
 
     private static void warnUnreachableStates(
@@ -85,18 +162,18 @@ public final class ProgramCompiler {
         List<Definition> definitions,
         StateMachine stateMachine)
     {
-        var reachableStates = stateMachine.transitions()
-            .values()
-            .stream()
-            .flatMap(Collection::stream)
-            .map(stateMachine::getStateByName)
-            .collect(Collectors.toSet());
+        var stateCount = stateMachine.stateCount();
+        var reachableStates = new boolean[stateCount];
 
-        reachableStates.add(stateMachine.initialState());
+        reachableStates[stateMachine.initialStateId()] = true;
 
-        var unreachableStates = stateMachine.states()
-            .stream()
-            .filter(Predicate.not(reachableStates::contains));
+        for (int transition = 0; transition < stateMachine.transitionsEnd(stateCount - 1); transition++) {
+            reachableStates[stateMachine.transitionTarget(transition)] = true;
+        }
+
+        var unreachableStates = IntStream.range(0, stateCount)
+            .filter(id -> !reachableStates[id])
+            .mapToObj(stateMachine::state);
 
         var stateDefinition = Suppliers.memoize(
             () -> definitions
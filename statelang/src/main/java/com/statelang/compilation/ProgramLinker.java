@@ -0,0 +1,89 @@
+package com.statelang.compilation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import com.google.common.base.Preconditions;
+import com.statelang.compilation.instruction.Instruction;
+import com.statelang.compilation.instruction.JumpToIfInstruction;
+import com.statelang.compilation.instruction.JumpToIfNotInstruction;
+import com.statelang.compilation.instruction.JumpToInstruction;
+import com.statelang.compilation.instruction.LabelInstruction;
+import com.statelang.compilation.instruction.SourceLocationInstruction;
+import com.statelang.tokenization.SourceLocation;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ProgramLinker {
+
+    public static LinkedProgram link(CompiledProgram program) {
+        var compiledInstructions = program.instructions();
+
+        var labelTargets = new HashMap<String, Integer>();
+        var instructionCount = 0;
+        var locationPending = false;
+
+        for (var instruction : compiledInstructions) {
+            if (instruction instanceof LabelInstruction labelInstruction) {
+                Preconditions.checkArgument(
+                    !locationPending,
+                    "label %s follows a source location instruction",
+                    labelInstruction.label()
+                );
+
+                labelTargets.put(labelInstruction.label(), instructionCount);
+            } else if (instruction instanceof SourceLocationInstruction) {
+                locationPending = true;
+            } else {
+                instructionCount++;
+                locationPending = false;
+            }
+        }
+
+        var instructions = new Instruction[instructionCount];
+        var jumpTargets = new int[instructionCount];
+        var locationOffsets = new int[instructionCount + 2];
+        var locations = new ArrayList<SourceLocation>();
+
+        var index = 0;
+
+        for (var instruction : compiledInstructions) {
+            if (instruction instanceof LabelInstruction) {
+                continue;
+            }
+
+            if (instruction instanceof SourceLocationInstruction locationInstruction) {
+                locations.add(locationInstruction.location());
+                continue;
+            }
+
+            String destination = null;
+            if (instruction instanceof JumpToInstruction jumpInstruction) {
+                destination = jumpInstruction.destination();
+            } else if (instruction instanceof JumpToIfInstruction jumpInstruction) {
+                destination = jumpInstruction.destination();
+            } else if (instruction instanceof JumpToIfNotInstruction jumpInstruction) {
+                destination = jumpInstruction.destination();
+            }
+
+            // jumps to undefined labels fall through
+            jumpTargets[index] = destination != null ? labelTargets.getOrDefault(destination, index + 1) : -1;
+            instructions[index] = instruction;
+            locationOffsets[++index] = locations.size();
+        }
+
+        locationOffsets[instructionCount + 1] = locations.size();
+
+        return new LinkedProgram(
+            program.stateMachine(),
+            program.symbols(),
+            program.memoryKeys(),
+            instructions,
+            jumpTargets,
+            locationOffsets,
+            locations.toArray(SourceLocation[]::new)
+        );
+    }
+}
@@ -1,7 +1,5 @@
 package com.statelang.compilation;
 
-import java.util.stream.Collectors;
-
 import com.statelang.ast.*;
 import com.statelang.compilation.instruction.*;
 import com.statelang.compilation.symbol.ConstantSymbol;
@@ -75,14 +73,9 @@ final class StateActionCompiler {
         var newState = transitionAction.newState();
         var stateMachineBuilder = context.stateMachineBuilder();
 
-        var definedStates = stateMachineBuilder.definedStates()
-            .stream()
-            .map(StateMachine.State::name)
-            .collect(Collectors.toSet());
-
-        if (definedStates.contains(newState)) {
+        if (stateMachineBuilder.isStateDefined(newState)) {
             var currentState = context.currentState();
-            if (definedStates.contains(currentState)) {
+            if (stateMachineBuilder.isStateDefined(currentState)) {
                 stateMachineBuilder.transition(currentState, newState);
             }
         } else {
@@ -158,7 +151,7 @@ final class StateActionCompiler {
             );
         }
 
-        programBuilder.instruction(new StoreInstruction(variableName));
+        programBuilder.instruction(new StoreInstruction(programBuilder.memorySlot(variableName)));
     }
 
     private static void compileConditional(
@@ -167,23 +160,35 @@ final class StateActionCompiler {
     {
         var programBuilder = context.programBuilder();
 
-        var conditionLocation = conditionalAction.condition().selection().start();
+        var condition = conditionalAction.condition();
+        var conditionLocation = condition.selection().start();
+
+        var hasTransitioned = context.transitioned();
 
         programBuilder.instruction(new SourceLocationInstruction(conditionLocation));
 
-        var conditionType = ValueExpressionCompiler.compile(context, conditionalAction.condition());
+        if (ConstantFolder.fold(context, condition).get(condition) instanceof Boolean conditionValue) {
+            // only the taken branch runs, so a transition in it always happens
+            compileBranch(context, conditionalAction.trueBlock(), conditionValue);
+
+            var falseBlock = conditionalAction.falseBlock();
+            if (falseBlock != null) {
+                compileBranch(context, falseBlock, !conditionValue);
+            }
+            return;
+        }
+
+        var conditionType = ValueExpressionCompiler.compile(context, condition);
 
         if (conditionType != UnknownInstanceType.INSTANCE && conditionType != BooleanInstanceType.INSTANCE) {
             context.reporter().report(
                 Report.builder()
                     .kind(Report.Kind.TYPE_ERROR)
-                    .selection(conditionalAction.condition().selection())
+                    .selection(condition.selection())
                     .info(conditionType.name() + " " + BooleanInstanceType.INSTANCE.name())
             );
         }
 
-        var hasTransitioned = context.transitioned();
-
         var uniqueLabelKey = conditionLocation.line() + "_" + conditionLocation.column();
         var endLabel = "$if_end" + uniqueLabelKey;
         var falseBranchLabel = "$if_false" + uniqueLabelKey;
@@ -208,16 +213,42 @@ final class StateActionCompiler {
         }
     }
 
+    /**
+     * Branches of constant conditions are still checked, but the
+     * instructions and transitions of the one that is never taken are dropped.
+     */
+    private static void compileBranch(CompilationContext context, StateAction branch, boolean taken) {
+        if (taken) {
+            compile(context, branch);
+            return;
+        }
+
+        var discardingContext = context.toBuilder()
+            .programBuilder(context.programBuilder().fork())
+            .stateMachineBuilder(context.stateMachineBuilder().fork())
+            .build();
+
+        compile(discardingContext, branch);
+    }
+
     private static void compileAssertion(
         CompilationContext context,
         AssertionAction assertionAction)
     {
         var programBuilder = context.programBuilder();
 
-        var conditionLocation = assertionAction.condition().selection().start();
+        var condition = assertionAction.condition();
+        var conditionLocation = condition.selection().start();
 
         programBuilder.instruction(new SourceLocationInstruction(conditionLocation));
 
+        if (ConstantFolder.fold(context, condition).get(condition) instanceof Boolean conditionValue) {
+            if (!conditionValue) {
+                programBuilder.instruction(ExitInstruction.FAILURE);
+            }
+            return;
+        }
+
         var conditionType = ValueExpressionCompiler.compile(context, assertionAction.condition());
 
         if (conditionType != UnknownInstanceType.INSTANCE && conditionType != BooleanInstanceType.INSTANCE) {
@@ -20,6 +20,20 @@ import lombok.NoArgsConstructor;
 final class ValueExpressionCompiler {
 
     public static InstanceType<?> compile(CompilationContext context, ValueExpressionNode expressionNode) {
+        return compile(context, expressionNode, ConstantFolder.fold(context, expressionNode));
+    }
+
+    private static InstanceType<?> compile(
+        CompilationContext context,
+        ValueExpressionNode expressionNode,
+        Map<ValueExpressionNode, Object> foldedValues)
+    {
+        var foldedValue = foldedValues.get(expressionNode);
+        if (foldedValue != null) {
+            context.programBuilder().instruction(new PushInstruction(foldedValue));
+            return ConstantFolder.instanceType(foldedValue);
+        }
+
         if (expressionNode instanceof InvalidValueNode) {
             return UnknownInstanceType.INSTANCE;
         }
@@ -33,11 +47,11 @@ final class ValueExpressionCompiler {
         }
 
         if (expressionNode instanceof UnaryValueExpressionNode unaryExpression) {
-            return compileUnaryExpression(context, unaryExpression);
+            return compileUnaryExpression(context, unaryExpression, foldedValues);
         }
 
         if (expressionNode instanceof BinaryValueExpressionNode binaryExpression) {
-            return compileBinaryExpression(context, binaryExpression);
+            return compileBinaryExpression(context, binaryExpression, foldedValues);
         }
 
         throw new UnsupportedOperationException(
@@ -47,10 +61,11 @@ final class ValueExpressionCompiler {
 
     private static InstanceType<?> compileBinaryExpression(
         CompilationContext context,
-        BinaryValueExpressionNode binaryExpression)
+        BinaryValueExpressionNode binaryExpression,
+        Map<ValueExpressionNode, Object> foldedValues)
     {
-        var leftType = compile(context, binaryExpression.left());
-        var rightType = compile(context, binaryExpression.right());
+        var leftType = compile(context, binaryExpression.left(), foldedValues);
+        var rightType = compile(context, binaryExpression.right(), foldedValues);
         if (leftType == UnknownInstanceType.INSTANCE || rightType == UnknownInstanceType.INSTANCE) {
             return leftType;
         }
@@ -77,9 +92,10 @@ final class ValueExpressionCompiler {
 
     private static InstanceType<?> compileUnaryExpression(
         CompilationContext context,
-        UnaryValueExpressionNode unaryExpression)
+        UnaryValueExpressionNode unaryExpression,
+        Map<ValueExpressionNode, Object> foldedValues)
     {
-        var rightType = compile(context, unaryExpression.right());
+        var rightType = compile(context, unaryExpression.right(), foldedValues);
         if (rightType == UnknownInstanceType.INSTANCE) {
             return rightType;
         }
@@ -135,8 +151,8 @@ final class ValueExpressionCompiler {
             );
         }
 
-        context.programBuilder()
-            .instruction(new LoadInstruction(variableName));
+        var programBuilder = context.programBuilder();
+        programBuilder.instruction(new LoadInstruction(programBuilder.memorySlot(variableName)));
 
         return variableType;
     }
@@ -1,7 +1,7 @@
 package com.statelang.compilation.instruction;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.statelang.model.BinaryOperator;
 
@@ -12,7 +12,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class BinaryOperatorInstruction extends Instruction {
 
-    private final static Map<BinaryOperator, BinaryOperatorInstruction> instances = new HashMap<>();
+    private final static Map<BinaryOperator, BinaryOperatorInstruction> instances = new ConcurrentHashMap<>();
 
     @Getter
     private final BinaryOperator operator;
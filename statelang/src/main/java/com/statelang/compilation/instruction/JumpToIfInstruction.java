@@ -0,0 +1,11 @@
+package com.statelang.compilation.instruction;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public final class JumpToIfInstruction extends Instruction {
+
+    @Getter
+    private final String destination;
+}
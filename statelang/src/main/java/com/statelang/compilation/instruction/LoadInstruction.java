@@ -7,5 +7,5 @@ import lombok.RequiredArgsConstructor;
 public final class LoadInstruction extends Instruction {
 
     @Getter
-    private final String memoryKey;
+    private final int slot;
 }
@@ -7,5 +7,5 @@ import lombok.RequiredArgsConstructor;
 public class StoreInstruction extends Instruction {
 
     @Getter
-    private final String memoryKey;
+    private final int slot;
 }
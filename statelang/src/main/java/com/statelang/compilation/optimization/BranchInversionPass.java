@@ -0,0 +1,44 @@
+package com.statelang.compilation.optimization;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.statelang.compilation.instruction.Instruction;
+import com.statelang.compilation.instruction.JumpToInstruction;
+
+/**
+ * Replaces a conditional jump over an unconditional one with the inverted
+ * condition: {@code JumpToIfNot A; JumpTo B; Label A} becomes
+ * {@code JumpToIf B; Label A}.
+ */
+public final class BranchInversionPass implements OptimizationPass {
+
+    @Override
+    public List<Instruction> apply(List<Instruction> instructions, OptimizationContext context) {
+        ArrayList<Instruction> optimized = null;
+
+        for (int i = 0; i < instructions.size(); i++) {
+            var instruction = instructions.get(i);
+
+            if (Jumps.isConditional(instruction)
+                && i + 1 < instructions.size()
+                && instructions.get(i + 1) instanceof JumpToInstruction jumpInstruction
+                && Jumps.isLabelAt(instructions, i + 2, Jumps.destination(instruction)))
+            {
+                if (optimized == null) {
+                    optimized = new ArrayList<>(instructions.subList(0, i));
+                }
+
+                optimized.add(Jumps.invert(instruction, jumpInstruction.destination()));
+                i++;
+                continue;
+            }
+
+            if (optimized != null) {
+                optimized.add(instruction);
+            }
+        }
+
+        return optimized != null ? optimized : instructions;
+    }
+}
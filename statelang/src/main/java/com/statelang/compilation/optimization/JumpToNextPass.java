@@ -0,0 +1,55 @@
+package com.statelang.compilation.optimization;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.statelang.compilation.instruction.Instruction;
+import com.statelang.compilation.instruction.JumpToInstruction;
+import com.statelang.compilation.instruction.LabelInstruction;
+import com.statelang.compilation.instruction.SourceLocationInstruction;
+
+/**
+ * Removes unconditional jumps that continue at the next instruction anyway,
+ * including jumps to undefined labels, which fall through.
+ */
+public final class JumpToNextPass implements OptimizationPass {
+
+    @Override
+    public List<Instruction> apply(List<Instruction> instructions, OptimizationContext context) {
+        var definedLabels = Jumps.definedLabels(instructions);
+        ArrayList<Instruction> optimized = null;
+
+        for (int i = 0; i < instructions.size(); i++) {
+            var instruction = instructions.get(i);
+
+            if (instruction instanceof JumpToInstruction jumpInstruction) {
+                var destination = jumpInstruction.destination();
+
+                var jumpsToNext = !definedLabels.contains(destination)
+                    || Jumps.isLabelAt(instructions, i + 1, destination);
+
+                var previous = optimized != null
+                    ? (optimized.isEmpty() ? null : optimized.get(optimized.size() - 1))
+                    : (i > 0 ? instructions.get(i - 1) : null);
+
+                // the linker rejects labels directly after source locations
+                var keepsLabelAfterLocation = previous instanceof SourceLocationInstruction
+                    && i + 1 < instructions.size()
+                    && instructions.get(i + 1) instanceof LabelInstruction;
+
+                if (jumpsToNext && !keepsLabelAfterLocation) {
+                    if (optimized == null) {
+                        optimized = new ArrayList<>(instructions.subList(0, i));
+                    }
+                    continue;
+                }
+            }
+
+            if (optimized != null) {
+                optimized.add(instruction);
+            }
+        }
+
+        return optimized != null ? optimized : instructions;
+    }
+}
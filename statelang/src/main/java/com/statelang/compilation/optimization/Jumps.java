@@ -0,0 +1,91 @@
+package com.statelang.compilation.optimization;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import com.statelang.compilation.instruction.Instruction;
+import com.statelang.compilation.instruction.JumpToIfInstruction;
+import com.statelang.compilation.instruction.JumpToIfNotInstruction;
+import com.statelang.compilation.instruction.JumpToInstruction;
+import com.statelang.compilation.instruction.LabelInstruction;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class Jumps {
+
+    @Nullable
+    static String destination(Instruction instruction) {
+        if (instruction instanceof JumpToInstruction jumpInstruction) {
+            return jumpInstruction.destination();
+        }
+
+        if (instruction instanceof JumpToIfInstruction jumpInstruction) {
+            return jumpInstruction.destination();
+        }
+
+        if (instruction instanceof JumpToIfNotInstruction jumpInstruction) {
+            return jumpInstruction.destination();
+        }
+
+        return null;
+    }
+
+    static boolean isConditional(Instruction instruction) {
+        return instruction instanceof JumpToIfInstruction || instruction instanceof JumpToIfNotInstruction;
+    }
+
+    static Instruction retarget(Instruction jump, String destination) {
+        if (jump instanceof JumpToIfInstruction) {
+            return new JumpToIfInstruction(destination);
+        }
+
+        if (jump instanceof JumpToIfNotInstruction) {
+            return new JumpToIfNotInstruction(destination);
+        }
+
+        return new JumpToInstruction(destination);
+    }
+
+    static Instruction invert(Instruction conditionalJump, String destination) {
+        return conditionalJump instanceof JumpToIfInstruction
+            ? new JumpToIfNotInstruction(destination)
+            : new JumpToIfInstruction(destination);
+    }
+
+    static Set<String> definedLabels(List<Instruction> instructions) {
+        var labels = new HashSet<String>();
+
+        for (var instruction : instructions) {
+            if (instruction instanceof LabelInstruction labelInstruction) {
+                labels.add(labelInstruction.label());
+            }
+        }
+
+        return labels;
+    }
+
+    /**
+     * Checks whether the label is defined by the run of label
+     * instructions starting at the given index, i.e. whether
+     * execution reaches the same instruction through the label
+     * and by falling through to that index.
+     */
+    static boolean isLabelAt(List<Instruction> instructions, int index, String label) {
+        for (; index < instructions.size(); index++) {
+            if (!(instructions.get(index) instanceof LabelInstruction labelInstruction)) {
+                return false;
+            }
+
+            if (labelInstruction.label().equals(label)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,98 @@
+package com.statelang.compilation.optimization;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import com.statelang.compilation.instruction.Instruction;
+import com.statelang.compilation.instruction.LabelInstruction;
+
+/**
+ * Merges runs of adjacent labels into one, retargeting the jumps,
+ * and removes labels that no jump refers to. State labels are kept.
+ */
+public final class LabelMergingPass implements OptimizationPass {
+
+    @Override
+    public List<Instruction> apply(List<Instruction> instructions, OptimizationContext context) {
+        var referencedLabels = new HashSet<String>();
+        for (var instruction : instructions) {
+            var destination = Jumps.destination(instruction);
+            if (destination != null) {
+                referencedLabels.add(destination);
+            }
+        }
+
+        var removedLabels = new HashSet<String>();
+        var renamedLabels = new HashMap<String, String>();
+
+        for (int start = 0; start < instructions.size();) {
+            var end = start;
+            while (end < instructions.size() && instructions.get(end) instanceof LabelInstruction) {
+                end++;
+            }
+
+            if (end == start) {
+                start++;
+                continue;
+            }
+
+            String mergedLabel = null;
+            for (int i = start; i < end; i++) {
+                var label = label(instructions, i);
+
+                if (context.isStateLabel(label)) {
+                    mergedLabel = label;
+                    break;
+                }
+
+                if (mergedLabel == null && referencedLabels.contains(label)) {
+                    mergedLabel = label;
+                }
+            }
+
+            for (int i = start; i < end; i++) {
+                var label = label(instructions, i);
+
+                if (label.equals(mergedLabel) || context.isStateLabel(label)) {
+                    continue;
+                }
+
+                removedLabels.add(label);
+
+                if (referencedLabels.contains(label)) {
+                    renamedLabels.put(label, mergedLabel);
+                }
+            }
+
+            start = end;
+        }
+
+        if (removedLabels.isEmpty()) {
+            return instructions;
+        }
+
+        var optimized = new ArrayList<Instruction>(instructions.size() - removedLabels.size());
+
+        for (var instruction : instructions) {
+            if (instruction instanceof LabelInstruction labelInstruction && removedLabels.contains(labelInstruction.label())) {
+                continue;
+            }
+
+            var destination = Jumps.destination(instruction);
+            if (destination != null && renamedLabels.containsKey(destination)) {
+                optimized.add(Jumps.retarget(instruction, renamedLabels.get(destination)));
+                continue;
+            }
+
+            optimized.add(instruction);
+        }
+
+        return optimized;
+    }
+
+    private static String label(List<Instruction> instructions, int index) {
+        return ((LabelInstruction) instructions.get(index)).label();
+    }
+}
@@ -0,0 +1,26 @@
+package com.statelang.compilation.optimization;
+
+import java.util.Map;
+
+import com.statelang.compilation.symbol.StateSymbol;
+import com.statelang.compilation.symbol.Symbol;
+
+import lombok.Getter;
+
+public final class OptimizationContext {
+
+    @Getter
+    private final Map<String, Symbol> symbols;
+
+    OptimizationContext(Map<String, Symbol> symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * State labels start the blocks that transitions jump to from other states,
+     * so passes must neither remove them nor move instructions across them.
+     */
+    public boolean isStateLabel(String label) {
+        return symbols.get(label) instanceof StateSymbol;
+    }
+}
@@ -0,0 +1,14 @@
+package com.statelang.compilation.optimization;
+
+import java.util.List;
+
+import com.statelang.compilation.instruction.Instruction;
+
+public interface OptimizationPass {
+
+    /**
+     * Rewrites the instruction stream of a program.
+     * Returns the given list if the pass changed nothing.
+     */
+    List<Instruction> apply(List<Instruction> instructions, OptimizationContext context);
+}
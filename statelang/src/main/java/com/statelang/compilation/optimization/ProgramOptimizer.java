@@ -0,0 +1,50 @@
+package com.statelang.compilation.optimization;
+
+import java.util.List;
+
+import com.statelang.compilation.CompiledProgram;
+
+public final class ProgramOptimizer {
+
+    public static final ProgramOptimizer NONE = new ProgramOptimizer(List.of());
+
+    public static final ProgramOptimizer DEFAULT = new ProgramOptimizer(List.of(
+        new UnreachableCodePass(),
+        new JumpToNextPass(),
+        new BranchInversionPass(),
+        new LabelMergingPass()
+    ));
+
+    private static final int MAX_ROUNDS = 8;
+
+    private final List<OptimizationPass> passes;
+
+    public ProgramOptimizer(List<OptimizationPass> passes) {
+        this.passes = List.copyOf(passes);
+    }
+
+    /**
+     * Runs the passes until none of them changes the program,
+     * since each rewrite may expose patterns for the others.
+     */
+    public CompiledProgram optimize(CompiledProgram program) {
+        var context = new OptimizationContext(program.symbols());
+        var instructions = program.instructions();
+
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            var changed = false;
+
+            for (var pass : passes) {
+                var optimized = pass.apply(instructions, context);
+                changed |= optimized != instructions;
+                instructions = optimized;
+            }
+
+            if (!changed) {
+                break;
+            }
+        }
+
+        return instructions != program.instructions() ? program.withInstructions(instructions) : program;
+    }
+}
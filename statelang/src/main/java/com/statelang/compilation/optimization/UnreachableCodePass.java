@@ -0,0 +1,50 @@
+package com.statelang.compilation.optimization;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.statelang.compilation.instruction.ExitInstruction;
+import com.statelang.compilation.instruction.Instruction;
+import com.statelang.compilation.instruction.JumpToInstruction;
+import com.statelang.compilation.instruction.LabelInstruction;
+
+/**
+ * Removes instructions between an exit or a taken unconditional jump
+ * and the next label, e.g. the {@code Exit} emitted after each transition.
+ */
+public final class UnreachableCodePass implements OptimizationPass {
+
+    @Override
+    public List<Instruction> apply(List<Instruction> instructions, OptimizationContext context) {
+        var definedLabels = Jumps.definedLabels(instructions);
+        ArrayList<Instruction> optimized = null;
+
+        var reachable = true;
+
+        for (int i = 0; i < instructions.size(); i++) {
+            var instruction = instructions.get(i);
+
+            if (instruction instanceof LabelInstruction) {
+                reachable = true;
+            } else if (!reachable) {
+                if (optimized == null) {
+                    optimized = new ArrayList<>(instructions.subList(0, i));
+                }
+                continue;
+            }
+
+            if (optimized != null) {
+                optimized.add(instruction);
+            }
+
+            if (instruction instanceof ExitInstruction
+                || instruction instanceof JumpToInstruction jumpInstruction
+                    && definedLabels.contains(jumpInstruction.destination()))
+            {
+                reachable = false;
+            }
+        }
+
+        return optimized != null ? optimized : instructions;
+    }
+}
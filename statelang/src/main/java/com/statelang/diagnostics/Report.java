@@ -1,8 +1,11 @@
 package com.statelang.diagnostics;
 
+import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
-import java.util.stream.Stream;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 
@@ -10,13 +13,11 @@ import com.statelang.tokenization.SourceLocation;
 import com.statelang.tokenization.SourceSelection;
 import com.statelang.tokenization.Token;
 
-import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
+import com.google.common.base.Preconditions;
+
 import lombok.Builder;
 import lombok.Getter;
 
-@AllArgsConstructor(access = AccessLevel.PRIVATE)
-@Builder(toBuilder = true)
 public final class Report {
 
 	public static enum Severity {
@@ -68,17 +69,61 @@ public final class Report {
 	private final Kind kind;
 
 	@Getter
-	@Builder.Default
-	private final Token.Kind unexpectedTokenKind = null;
+	@Nullable
+	private final Token.Kind unexpectedTokenKind;
 
-	@Getter
-	@Builder.Default
-	private final List<Token.Kind> expectedTokenKinds = Collections.emptyList();
+	private final long expectedTokenKindsMask;
 
 	@Getter
 	@Nullable
-	@Builder.Default
-	private final String info = null;
+	private final String info;
+
+	private static final Token.Kind[] tokenKinds = Token.Kind.values();
+
+	private static final Map<Long, Set<Token.Kind>> internedTokenKindSets = new ConcurrentHashMap<>();
+
+	static {
+		Preconditions.checkState(tokenKinds.length <= Long.SIZE, "too many token kinds for a bitmask");
+	}
+
+	@Builder(toBuilder = true)
+	private Report(
+		SourceSelection selection,
+		Kind kind,
+		@Nullable Token.Kind unexpectedTokenKind,
+		long expectedTokenKindsMask,
+		@Nullable String info)
+	{
+		this.selection = selection;
+		this.kind = kind;
+		this.unexpectedTokenKind = unexpectedTokenKind;
+		this.expectedTokenKindsMask = expectedTokenKindsMask;
+		this.info = info;
+	}
+
+	public Set<Token.Kind> expectedTokenKinds() {
+		return internedTokenKindSets.computeIfAbsent(expectedTokenKindsMask, Report::tokenKindSetOf);
+	}
+
+	public static long tokenKindsMask(Collection<Token.Kind> tokenKinds) {
+		long mask = 0;
+		for (var tokenKind : tokenKinds) {
+			mask |= 1L << tokenKind.ordinal();
+		}
+
+		return mask;
+	}
+
+	private static Set<Token.Kind> tokenKindSetOf(long mask) {
+		var set = EnumSet.noneOf(Token.Kind.class);
+		for (var tokenKind : tokenKinds) {
+			if ((mask & (1L << tokenKind.ordinal())) != 0) {
+				set.add(tokenKind);
+			}
+		}
+
+		return Collections.unmodifiableSet(set);
+	}
 
 	public Severity severity() {
 		return kind.severity;
@@ -101,15 +146,15 @@ public final class Report {
 		}
 
 		if (first.selection().equals(second.selection())) {
-			var firstExpectedTokens = first.expectedTokenKinds.stream();
-			var secondExpectedTokens = second.expectedTokenKinds.stream();
-			var expectedTokenKinds = Stream.concat(firstExpectedTokens, secondExpectedTokens).toList();
-
-			return Report.builder()
-				.selection(first.selection())
-				.kind(first.kind())
-				.expectedTokenKinds(expectedTokenKinds)
-				.build();
+			var expectedTokenKindsMask = first.expectedTokenKindsMask | second.expectedTokenKindsMask;
+
+			if (expectedTokenKindsMask == first.expectedTokenKindsMask
+				&& first.unexpectedTokenKind == null
+				&& first.info == null) {
+				return first;
+			}
+
+			return new Report(first.selection(), first.kind(), null, expectedTokenKindsMask, null);
 		}
 
 		if (first.location().equals(second.location())) {
@@ -122,4 +167,11 @@ public final class Report {
 			? first
 			: second;
 	}
+
+	public static final class ReportBuilder {
+
+		public ReportBuilder expectedTokenKinds(Collection<Token.Kind> expectedTokenKinds) {
+			return expectedTokenKindsMask(tokenKindsMask(expectedTokenKinds));
+		}
+	}
 }
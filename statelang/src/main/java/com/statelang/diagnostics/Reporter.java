@@ -3,21 +3,65 @@ package com.statelang.diagnostics;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 public final class Reporter {
 
 	private final List<Report> reports = new ArrayList<>();
 
+	private final int[] severityCounts = new int[Report.Severity.values().length];
+
+	private final TreeMap<Integer, List<Report>> reportsByStartLine = new TreeMap<>();
+
+	private int maxLineSpan = 0;
+
+	private final Consumer<Report> listener;
+
+	public Reporter() {
+		this(report -> {
+		});
+	}
+
+	public Reporter(Consumer<Report> listener) {
+		this.listener = listener;
+	}
+
 	public List<Report> reports() {
 		return Collections.unmodifiableList(reports);
 	}
 
 	public boolean hasErrors() {
-		return reports.stream().anyMatch(report -> report.severity().equals(Report.Severity.ERROR));
+		return count(Report.Severity.ERROR) > 0;
+	}
+
+	public int count(Report.Severity severity) {
+		return severityCounts[severity.ordinal()];
+	}
+
+	public List<Report> reportsInLines(int firstLine, int lastLine) {
+		var result = new ArrayList<Report>();
+
+		for (var lineReports : reportsByStartLine.subMap(firstLine - maxLineSpan, true, lastLine, true).values()) {
+			for (var report : lineReports) {
+				if (report.selection().end().line() >= firstLine) {
+					result.add(report);
+				}
+			}
+		}
+
+		return result;
 	}
 
 	public void report(Report report) {
 		reports.add(report);
+		severityCounts[report.severity().ordinal()]++;
+
+		var selection = report.selection();
+		reportsByStartLine.computeIfAbsent(selection.start().line(), line -> new ArrayList<>(1)).add(report);
+		maxLineSpan = Math.max(maxLineSpan, selection.end().line() - selection.start().line());
+
+		listener.accept(report);
 	}
 
 	public void report(Report.ReportBuilder reportBuilder) {
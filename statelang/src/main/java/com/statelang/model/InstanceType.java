@@ -3,7 +3,9 @@ package com.statelang.model;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import com.google.common.base.Preconditions;
 
@@ -27,6 +29,13 @@ public abstract class InstanceType<T> {
         private final InstanceType<TRight> rightType;
 
         private final InstanceType<TReturn> returnType;
+
+        @Getter(AccessLevel.NONE)
+        private final BiFunction<TLeft, TRight, TReturn> evaluation;
+
+        public TReturn evaluate(Object left, Object right) {
+            return evaluation.apply(leftType.instanceClass().cast(left), rightType.instanceClass().cast(right));
+        }
     }
 
     @AllArgsConstructor
@@ -37,6 +46,13 @@ public abstract class InstanceType<T> {
         private final InstanceType<TRight> rightType;
 
         private final InstanceType<TReturn> returnType;
+
+        @Getter(AccessLevel.NONE)
+        private final Function<TRight, TReturn> evaluation;
+
+        public TReturn evaluate(Object right) {
+            return evaluation.apply(rightType.instanceClass().cast(right));
+        }
     }
 
     @Getter
@@ -47,7 +63,7 @@ public abstract class InstanceType<T> {
 
     private final Consumer<LibraryBuilder> buildLibrary;
 
-    private boolean builtLibrary = false;
+    private volatile boolean builtLibrary = false;
 
     private record BinaryOperatorKey(BinaryOperator operator, InstanceType<?> rightType) {}
 
@@ -60,9 +76,13 @@ public abstract class InstanceType<T> {
             return;
         }
 
-        buildLibrary.accept(new LibraryBuilder());
+        synchronized (this) {
+            if (!builtLibrary) {
+                buildLibrary.accept(new LibraryBuilder());
 
-        builtLibrary = true;
+                builtLibrary = true;
+            }
+        }
     }
 
     public final Optional<InstanceUnaryOperator<T, ?>> getOperator(UnaryOperator operator) {
@@ -89,7 +109,7 @@ public abstract class InstanceType<T> {
     @NoArgsConstructor(access = AccessLevel.PRIVATE)
     final class LibraryBuilder {
 
-        public <R> void operator(UnaryOperator operator, InstanceType<R> returnType) {
+        public <R> void operator(UnaryOperator operator, InstanceType<R> returnType, Function<T, R> evaluation) {
             Preconditions.checkState(
                 !InstanceType.this.unaryOperators.containsKey(operator), "unary operator is already defined"
             );
@@ -99,6 +119,7 @@ public abstract class InstanceType<T> {
                 InstanceUnaryOperator.<T, R>builder()
                     .rightType(InstanceType.this)
                     .returnType(returnType)
+                    .evaluation(evaluation)
                     .build()
             );
         }
@@ -106,7 +127,8 @@ public abstract class InstanceType<T> {
         public <U, R> void operator(
             BinaryOperator operator,
             InstanceType<U> rightType,
-            InstanceType<R> returnType)
+            InstanceType<R> returnType,
+            BiFunction<T, U, R> evaluation)
         {
             var key = new BinaryOperatorKey(operator, rightType);
 
@@ -121,6 +143,7 @@ public abstract class InstanceType<T> {
                     .leftType(InstanceType.this)
                     .rightType(rightType)
                     .returnType(returnType)
+                    .evaluation(evaluation)
                     .build()
             );
         }
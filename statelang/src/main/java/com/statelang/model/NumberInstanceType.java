@@ -10,21 +10,21 @@ public final class NumberInstanceType extends InstanceType<Double> {
             final var numberType = INSTANCE;
             final var booleanType = BooleanInstanceType.INSTANCE;
 
-            define.operator(UnaryOperator.PLUS, numberType);
-            define.operator(UnaryOperator.MINUS, numberType);
+            define.operator(UnaryOperator.PLUS, numberType, a -> a);
+            define.operator(UnaryOperator.MINUS, numberType, a -> -a);
 
-            define.operator(BinaryOperator.PLUS, numberType, numberType);
-            define.operator(BinaryOperator.MINUS, numberType, numberType);
-            define.operator(BinaryOperator.MULTIPLY, numberType, numberType);
-            define.operator(BinaryOperator.DIVIDE, numberType, numberType);
-            define.operator(BinaryOperator.MODULO, numberType, numberType);
+            define.operator(BinaryOperator.PLUS, numberType, numberType, (a, b) -> a + b);
+            define.operator(BinaryOperator.MINUS, numberType, numberType, (a, b) -> a - b);
+            define.operator(BinaryOperator.MULTIPLY, numberType, numberType, (a, b) -> a * b);
+            define.operator(BinaryOperator.DIVIDE, numberType, numberType, (a, b) -> a / b);
+            define.operator(BinaryOperator.MODULO, numberType, numberType, (a, b) -> a % b);
 
-            define.operator(BinaryOperator.EQUALS, numberType, booleanType);
-            define.operator(BinaryOperator.NOT_EQUALS, numberType, booleanType);
-            define.operator(BinaryOperator.LESS, numberType, booleanType);
-            define.operator(BinaryOperator.LESS_OR_EQUAL, numberType, booleanType);
-            define.operator(BinaryOperator.GREATER, numberType, booleanType);
-            define.operator(BinaryOperator.GREATER_OR_EQUAL, numberType, booleanType);
+            define.operator(BinaryOperator.EQUALS, numberType, booleanType, (a, b) -> a.doubleValue() == b);
+            define.operator(BinaryOperator.NOT_EQUALS, numberType, booleanType, (a, b) -> a.doubleValue() != b);
+            define.operator(BinaryOperator.LESS, numberType, booleanType, (a, b) -> a < b);
+            define.operator(BinaryOperator.LESS_OR_EQUAL, numberType, booleanType, (a, b) -> a <= b);
+            define.operator(BinaryOperator.GREATER, numberType, booleanType, (a, b) -> a > b);
+            define.operator(BinaryOperator.GREATER_OR_EQUAL, numberType, booleanType, (a, b) -> a >= b);
         });
     }
 }
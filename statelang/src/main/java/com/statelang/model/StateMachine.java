@@ -1,9 +1,12 @@
 package com.statelang.model;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 
@@ -25,13 +28,31 @@ public final class StateMachine {
     @Getter
     private State initialState;
 
+    private final State[] indexedStates;
+
+    private final Map<String, Integer> stateIds;
+
+    private final int initialStateId;
+
+    private final int[] transitionOffsets;
+
+    private final int[] transitionTargets;
+
     @Builder
     private StateMachine(Set<State> states, String initialStateName, Map<String, Set<String>> transitions) {
         Preconditions.checkArgument(!states.isEmpty());
 
         this.states = Collections.unmodifiableSet(states);
 
+        indexedStates = states.toArray(State[]::new);
+        stateIds = new HashMap<>(indexedStates.length * 2);
+
+        for (int id = 0; id < indexedStates.length; id++) {
+            stateIds.putIfAbsent(indexedStates[id].name(), id);
+        }
+
         this.initialState = getStateByName(initialStateName);
+        initialStateId = stateIds.get(initialStateName);
 
         var transitionsCopy = new HashMap<String, Set<String>>();
 
@@ -40,24 +61,97 @@ public final class StateMachine {
         }
 
         this.transitions = Collections.unmodifiableMap(transitionsCopy);
+
+        transitionOffsets = new int[indexedStates.length + 1];
+        transitionTargets = new int[transitions.values().stream().mapToInt(Set::size).sum()];
+
+        for (int id = 0, offset = 0; id < indexedStates.length; id++) {
+            transitionOffsets[id] = offset;
+
+            var targets = transitions.get(indexedStates[id].name());
+            if (targets == null) {
+                continue;
+            }
+
+            var start = offset;
+            for (var target : targets) {
+                transitionTargets[offset++] = stateId(target);
+            }
+
+            Arrays.sort(transitionTargets, start, offset);
+        }
+
+        transitionOffsets[indexedStates.length] = transitionTargets.length;
     }
 
     public State getStateByName(String name) {
-        return states.stream()
-            .filter(state -> state.name.equals(name))
-            .findFirst()
-            .orElseThrow();
+        var id = stateId(name);
+        if (id < 0) {
+            throw new NoSuchElementException("undefined state " + name);
+        }
+
+        return indexedStates[id];
+    }
+
+    /**
+     * States are numbered from 0 up to {@code stateCount()} in the order
+     * they were defined.
+     */
+    public int stateCount() {
+        return indexedStates.length;
+    }
+
+    /**
+     * Id of the state with the given name, or -1 if it is not defined.
+     */
+    public int stateId(String name) {
+        return stateIds.getOrDefault(name, -1);
+    }
+
+    public State state(int id) {
+        Preconditions.checkElementIndex(id, indexedStates.length);
+        return indexedStates[id];
+    }
+
+    public int initialStateId() {
+        return initialStateId;
+    }
+
+    /**
+     * Ids of the states the given state transitions to are
+     * {@code transitionTarget(transitionsStart(id))} up to {@code transitionsEnd(id)},
+     * in ascending order.
+     */
+    public int transitionsStart(int id) {
+        Preconditions.checkElementIndex(id, indexedStates.length);
+        return transitionOffsets[id];
+    }
+
+    public int transitionsEnd(int id) {
+        Preconditions.checkElementIndex(id, indexedStates.length);
+        return transitionOffsets[id + 1];
+    }
+
+    public int transitionTarget(int transitionIndex) {
+        Preconditions.checkElementIndex(transitionIndex, transitionTargets.length);
+        return transitionTargets[transitionIndex];
     }
 
     public static final class StateMachineBuilder {
 
+        private Map<String, State> statesByName;
+
         StateMachineBuilder() {
             transitions = new HashMap<>();
-            states = new HashSet<>();
+            states = new LinkedHashSet<>();
+            statesByName = new HashMap<>();
         }
 
         public StateMachineBuilder state(State state) {
-            states.add(state);
+            if (statesByName.putIfAbsent(state.name(), state) == null) {
+                states.add(state);
+            }
+
             return this;
         }
 
@@ -66,8 +160,7 @@ public final class StateMachine {
         }
 
         public StateMachineBuilder initialState(String initialState) {
-            Preconditions
-                .checkState(states.stream().anyMatch(s -> s.name.equals(initialState)), "undefined initial state");
+            Preconditions.checkState(isStateDefined(initialState), "undefined initial state");
             this.initialStateName = initialState;
             return this;
         }
@@ -75,8 +168,8 @@ public final class StateMachine {
         public StateMachineBuilder transition(String from, String to) {
             Preconditions.checkArgument(from != null, "from is null");
             Preconditions.checkArgument(to != null, "to is null");
-            Preconditions.checkState(states.stream().anyMatch(s -> s.name.equals(from)), "undefined from state");
-            Preconditions.checkState(states.stream().anyMatch(s -> s.name.equals(to)), "undefined to state");
+            Preconditions.checkState(isStateDefined(from), "undefined from state");
+            Preconditions.checkState(isStateDefined(to), "undefined to state");
 
             transitions
                 .computeIfAbsent(from, key -> new HashSet<>())
@@ -85,16 +178,46 @@ public final class StateMachine {
             return this;
         }
 
+        public StateMachineBuilder fork() {
+            var fork = new StateMachineBuilder();
+            fork.states = states;
+            fork.statesByName = statesByName;
+            fork.initialStateName = initialStateName;
+            return fork;
+        }
+
+        public StateMachineBuilder join(StateMachineBuilder fork) {
+            fork.transitions.forEach((from, targets) -> {
+                transitions
+                    .computeIfAbsent(from, key -> new HashSet<>())
+                    .addAll(targets);
+            });
+
+            return this;
+        }
+
+        public boolean isStateDefined(String stateName) {
+            return statesByName.containsKey(stateName);
+        }
+
         public Optional<State> definedInitialState() {
-            return states.stream()
-                .filter(state -> state.name.equals(initialStateName))
-                .findFirst();
+            return initialStateName != null
+                ? Optional.ofNullable(statesByName.get(initialStateName))
+                : Optional.empty();
         }
 
         public Set<State> definedStates() {
             return Collections.unmodifiableSet(states);
         }
 
+        @SuppressWarnings("unused")
+        private StateMachineBuilder states(Set<State> states) {
+            this.states = new LinkedHashSet<>();
+            this.statesByName = new HashMap<>();
+            states.forEach(this::state);
+            return this;
+        }
+
         @SuppressWarnings("unused")
         private StateMachineBuilder transitions(Map<String, Set<String>> transitions) {
             this.transitions = transitions;
@@ -10,10 +10,10 @@ public final class StringInstanceType extends InstanceType<String> {
             final var stringType = INSTANCE;
             final var booleanType = BooleanInstanceType.INSTANCE;
 
-            define.operator(BinaryOperator.PLUS, stringType, stringType);
+            define.operator(BinaryOperator.PLUS, stringType, stringType, String::concat);
 
-            define.operator(BinaryOperator.EQUALS, stringType, booleanType);
-            define.operator(BinaryOperator.NOT_EQUALS, stringType, booleanType);
+            define.operator(BinaryOperator.EQUALS, stringType, booleanType, String::equals);
+            define.operator(BinaryOperator.NOT_EQUALS, stringType, booleanType, (a, b) -> !a.equals(b));
         });
     }
 }
@@ -0,0 +1,137 @@
+package com.statelang.parsing;
+
+import com.statelang.ast.*;
+import com.statelang.tokenization.LocationShift;
+import com.statelang.tokenization.Token;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+final class DefinitionShifter {
+
+    private final LocationShift shift;
+
+    public Definition shift(Definition definition) {
+        if (definition instanceof StateDefinition stateDefinition) {
+            var states = stateDefinition.states()
+                .stream()
+                .map(state -> new StateDefinition.State(
+                    shift(state.nameToken()),
+                    state.attributes()
+                        .stream()
+                        .map(attribute -> new Attribute(shift(attribute.nameToken()), shift(attribute.valueToken())))
+                        .toList()
+                ))
+                .toList();
+
+            return new StateDefinition(states, shift(stateDefinition.stateToken()));
+        }
+
+        if (definition instanceof VariableDefinition variableDefinition) {
+            return new VariableDefinition(
+                shift(variableDefinition.variableNameToken()),
+                shift(variableDefinition.initialVariableValue())
+            );
+        }
+
+        if (definition instanceof ConstantDefinition constantDefinition) {
+            return new ConstantDefinition(
+                shift(constantDefinition.constantNameToken()),
+                shift(constantDefinition.initialConstantValue())
+            );
+        }
+
+        if (definition instanceof InStateDefinition inStateDefinition) {
+            return new InStateDefinition(
+                shift(inStateDefinition.stateToken()),
+                shift(inStateDefinition.actionBlock())
+            );
+        }
+
+        throw new UnsupportedOperationException(definition.getClass().getName() + " definition is not implemented");
+    }
+
+    private StateAction shift(StateAction action) {
+        if (action == null) {
+            return null;
+        }
+
+        if (action instanceof StateActionBlock block) {
+            return shift(block);
+        }
+
+        if (action instanceof AssignmentAction assignment) {
+            return new AssignmentAction(shift(assignment.variableToken()), shift(assignment.newVariableValue()));
+        }
+
+        if (action instanceof TransitionAction transition) {
+            return new TransitionAction(shift(transition.newStateToken()));
+        }
+
+        if (action instanceof AssertionAction assertion) {
+            return new AssertionAction(shift(assertion.condition()));
+        }
+
+        if (action instanceof ConditionalAction conditional) {
+            return new ConditionalAction(
+                shift(conditional.condition()),
+                shift(conditional.trueBlock()),
+                shift(conditional.falseBlock())
+            );
+        }
+
+        throw new UnsupportedOperationException(action.getClass().getName() + " action is not implemented");
+    }
+
+    private StateActionBlock shift(StateActionBlock block) {
+        if (block == null) {
+            return null;
+        }
+
+        return new StateActionBlock(block.actions().stream().map(action -> shift(action)).toList());
+    }
+
+    private ValueExpressionNode shift(ValueExpressionNode expression) {
+        if (expression == null) {
+            return null;
+        }
+
+        if (expression instanceof NumberLiteralValue number) {
+            return new NumberLiteralValue(shift(number.token()), number.value());
+        }
+
+        if (expression instanceof BooleanLiteralValue bool) {
+            return new BooleanLiteralValue(shift(bool.token()), bool.value());
+        }
+
+        if (expression instanceof StringLiteralValue string) {
+            return new StringLiteralValue(shift(string.token()), string.value());
+        }
+
+        if (expression instanceof VariableValueExpressionNode variable) {
+            return new VariableValueExpressionNode(shift(variable.token()));
+        }
+
+        if (expression instanceof VariableValueNode variable) {
+            return new VariableValueNode(shift(variable.token()));
+        }
+
+        if (expression instanceof UnaryValueExpressionNode unary) {
+            return new UnaryValueExpressionNode(unary.operator(), shift(unary.right()), shift(unary.operatorToken()));
+        }
+
+        if (expression instanceof BinaryValueExpressionNode binary) {
+            return new BinaryValueExpressionNode(binary.operator(), shift(binary.left()), shift(binary.right()));
+        }
+
+        if (expression instanceof InvalidValueNode invalid) {
+            return new InvalidValueNode(shift.apply(invalid.selection()));
+        }
+
+        throw new UnsupportedOperationException(expression.getClass().getName() + " expression is not implemented");
+    }
+
+    private Token shift(Token token) {
+        return token != null ? shift.apply(token) : null;
+    }
+}
@@ -0,0 +1,158 @@
+package com.statelang.parsing;
+
+import static com.statelang.tokenization.Token.Kind.*;
+
+import com.statelang.ast.BinaryValueExpressionNode;
+import com.statelang.ast.UnaryValueExpressionNode;
+import com.statelang.ast.ValueExpressionNode;
+import com.statelang.model.BinaryOperator;
+import com.statelang.model.UnaryOperator;
+import com.statelang.parsing.lib.Parser;
+import com.statelang.parsing.lib.ParserContext;
+import com.statelang.parsing.lib.ParserResult;
+import com.statelang.tokenization.Token;
+
+final class OperatorPrecedenceParser extends Parser<ValueExpressionNode> {
+
+    private static final BinaryOperator[] binaryOperators = new BinaryOperator[Token.Kind.values().length];
+
+    private static final UnaryOperator[] signOperators = new UnaryOperator[Token.Kind.values().length];
+
+    private static final int[] precedences = new int[BinaryOperator.values().length];
+
+    private static final int NOT_PRECEDENCE = 3;
+
+    private static final int RELATION_PRECEDENCE = 4;
+
+    // one pending operator per precedence level at most
+    private static final int MAX_PENDING_OPERATORS = 8;
+
+    static {
+        binary(OPERATOR_OR, BinaryOperator.OR, 1);
+        binary(OPERATOR_AND, BinaryOperator.AND, 2);
+
+        binary(OPERATOR_EQUALS, BinaryOperator.EQUALS, RELATION_PRECEDENCE);
+        binary(OPERATOR_NOT_EQUALS, BinaryOperator.NOT_EQUALS, RELATION_PRECEDENCE);
+        binary(OPERATOR_LESS, BinaryOperator.LESS, RELATION_PRECEDENCE);
+        binary(OPERATOR_LESS_OR_EQUAL, BinaryOperator.LESS_OR_EQUAL, RELATION_PRECEDENCE);
+        binary(OPERATOR_GREATER, BinaryOperator.GREATER, RELATION_PRECEDENCE);
+        binary(OPERATOR_GREATER_OR_EQUAL, BinaryOperator.GREATER_OR_EQUAL, RELATION_PRECEDENCE);
+
+        binary(OPERATOR_PLUS, BinaryOperator.PLUS, 5);
+        binary(OPERATOR_MINUS, BinaryOperator.MINUS, 5);
+
+        binary(OPERATOR_MULTIPLY, BinaryOperator.MULTIPLY, 6);
+        binary(OPERATOR_DIVIDE, BinaryOperator.DIVIDE, 6);
+        binary(OPERATOR_MODULO, BinaryOperator.MODULO, 6);
+
+        signOperators[OPERATOR_PLUS.ordinal()] = UnaryOperator.PLUS;
+        signOperators[OPERATOR_MINUS.ordinal()] = UnaryOperator.MINUS;
+    }
+
+    private final Parser<ValueExpressionNode> primaryTerm;
+
+    OperatorPrecedenceParser(Parser<ValueExpressionNode> primaryTerm) {
+        this.primaryTerm = primaryTerm;
+    }
+
+    private static void binary(Token.Kind tokenKind, BinaryOperator operator, int precedence) {
+        binaryOperators[tokenKind.ordinal()] = operator;
+        precedences[operator.ordinal()] = precedence;
+    }
+
+    @Override
+    public ParserResult<ValueExpressionNode> parse(ParserContext context) {
+        var reader = context.reader();
+
+        // pending operators are either a BinaryOperator or the token of a prefix 'not'
+        var operators = new Object[MAX_PENDING_OPERATORS];
+        var operands = new ValueExpressionNode[MAX_PENDING_OPERATORS + 1];
+        int operatorCount = 0, operandCount = 0;
+
+        // relations are not associative, so a second one ends the expression
+        var relationParsed = false;
+
+        while (true) {
+            var acceptsNot = operatorCount == 0 || precedenceOf(operators[operatorCount - 1]) < NOT_PRECEDENCE;
+
+            if (acceptsNot && !reader.atEnd() && reader.currentKind() == OPERATOR_NOT) {
+                operators[operatorCount++] = reader.currentToken();
+                reader.tryAdvance();
+            }
+
+            var termResult = parseSignedTerm(context);
+
+            if (!termResult.isSuccess()) {
+                return termResult;
+            }
+
+            operands[operandCount++] = termResult.value();
+
+            var operator = reader.atEnd() ? null : binaryOperators[reader.currentKind().ordinal()];
+            if (operator == null) {
+                break;
+            }
+
+            var precedence = precedences[operator.ordinal()];
+            if (precedence == RELATION_PRECEDENCE && relationParsed) {
+                break;
+            }
+
+            while (operatorCount > 0 && precedenceOf(operators[operatorCount - 1]) >= precedence) {
+                operandCount = reduce(operators[--operatorCount], operands, operandCount);
+            }
+
+            if (precedence == RELATION_PRECEDENCE) {
+                relationParsed = true;
+            } else if (precedence < RELATION_PRECEDENCE) {
+                relationParsed = false;
+            }
+
+            operators[operatorCount++] = operator;
+            reader.tryAdvance();
+        }
+
+        while (operatorCount > 0) {
+            operandCount = reduce(operators[--operatorCount], operands, operandCount);
+        }
+
+        return ParserResult.fromValue(operands[0]);
+    }
+
+    private ParserResult<ValueExpressionNode> parseSignedTerm(ParserContext context) {
+        var reader = context.reader();
+
+        var sign = reader.atEnd() ? null : signOperators[reader.currentKind().ordinal()];
+        if (sign == null) {
+            return primaryTerm.parse(context);
+        }
+
+        var signToken = reader.currentToken();
+        reader.tryAdvance();
+
+        var termResult = primaryTerm.parse(context);
+
+        return termResult.isSuccess()
+            ? ParserResult.fromValue(new UnaryValueExpressionNode(sign, termResult.value(), signToken))
+            : termResult;
+    }
+
+    private static int precedenceOf(Object operator) {
+        return operator instanceof BinaryOperator binaryOperator
+            ? precedences[binaryOperator.ordinal()]
+            : NOT_PRECEDENCE;
+    }
+
+    private static int reduce(Object operator, ValueExpressionNode[] operands, int operandCount) {
+        if (operator instanceof BinaryOperator binaryOperator) {
+            var right = operands[--operandCount];
+            var left = operands[operandCount - 1];
+            operands[operandCount - 1] = new BinaryValueExpressionNode(binaryOperator, left, right);
+        } else {
+            var right = operands[operandCount - 1];
+            operands[operandCount - 1] = new UnaryValueExpressionNode(UnaryOperator.NOT, right, (Token) operator);
+        }
+
+        return operandCount;
+    }
+}
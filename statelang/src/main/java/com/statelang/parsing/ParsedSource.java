@@ -0,0 +1,380 @@
+package com.statelang.parsing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nullable;
+
+import com.statelang.ast.Definition;
+import com.statelang.ast.Program;
+import com.statelang.diagnostics.Report;
+import com.statelang.diagnostics.Reporter;
+import com.statelang.tokenization.LocationShift;
+import com.statelang.tokenization.SourceText;
+import com.statelang.tokenization.TextEdit;
+import com.statelang.tokenization.Token;
+import com.statelang.tokenization.TokenBuffer;
+import com.statelang.tokenization.TokenReader;
+import com.statelang.tokenization.TokenStream;
+
+public final class ParsedSource {
+
+    private static final int MIN_CHUNK_TOKENS = 512;
+
+    private record Span(
+        int firstToken,
+        int endToken,
+        int lastReadToken,
+        @Nullable Definition definition,
+        List<Report> reports
+    ) {
+        Span withLastReadToken(int lastReadToken) {
+            return lastReadToken == this.lastReadToken
+                ? this
+                : new Span(firstToken, endToken, lastReadToken, definition, reports);
+        }
+    }
+
+    private record Chunks(int[] starts, List<ForkJoinTask<List<Span>>> tasks) {
+
+        /**
+         * Waits only for the chunk starting at the token, so the spans
+         * before it can be passed on while later chunks are still parsed.
+         */
+        @Nullable
+        List<Span> spansStartingAt(int tokenIndex) {
+            var chunk = Arrays.binarySearch(starts, tokenIndex);
+            if (chunk < 0) {
+                return null;
+            }
+
+            var spans = tasks.get(chunk).join();
+            return spans.isEmpty() ? null : spans;
+        }
+
+        void cancel() {
+            tasks.forEach(task -> task.cancel(false));
+        }
+    }
+
+    private final TokenStream tokenStream;
+
+    private final List<Span> spans;
+
+    private final List<Report> trailingReports;
+
+    private final boolean failed;
+
+    private final Optional<Program> program;
+
+    private ParsedSource(TokenStream tokenStream, List<Span> spans, List<Report> trailingReports, boolean failed) {
+        this.tokenStream = tokenStream;
+        this.spans = spans;
+        this.trailingReports = trailingReports;
+        this.failed = failed;
+
+        program = failed
+            ? Optional.empty()
+            : Optional.of(new Program(spans.stream().map(Span::definition).filter(Objects::nonNull).toList()));
+    }
+
+    public static ParsedSource parse(SourceText sourceText) {
+        return parse(TokenStream.tokenize(sourceText), List.of(), 0, null, null, null, null);
+    }
+
+    public static ParsedSource parse(SourceText sourceText, ForkJoinPool pool) {
+        return parse(sourceText, pool, new Reporter());
+    }
+
+    /**
+     * Parses chunks of top-level definitions on the pool. Chunks are split at
+     * a semicolon or a closing brace outside of braces, and their definitions
+     * are used only where the sequential parse would start at the chunk,
+     * so the result is the same as {@link #parse(SourceText)}.
+     * <p>
+     * The reports are also passed to the reporter in the order of
+     * {@link #reports()}, each as soon as it can no longer change.
+     */
+    public static ParsedSource parse(SourceText sourceText, ForkJoinPool pool, Reporter reporter) {
+        var tokenStream = TokenStream.tokenize(sourceText);
+        var buffer = tokenStream.buffer();
+
+        var chunkStarts = splitAtDefinitions(buffer, pool.getParallelism() * 4);
+        if (chunkStarts.length < 2) {
+            return parse(tokenStream, List.of(), 0, null, null, null, reporter);
+        }
+
+        var chunks = new Chunks(chunkStarts, IntStream.range(0, chunkStarts.length)
+            .mapToObj(i -> pool.submit(() -> parseChunk(
+                buffer,
+                chunkStarts[i],
+                i + 1 < chunkStarts.length ? chunkStarts[i + 1] : buffer.size()
+            )))
+            .toList()
+        );
+
+        try {
+            return parse(tokenStream, List.of(), 0, null, null, chunks, reporter);
+        } finally {
+            // chunks the sequential parse never reached are no longer needed
+            chunks.cancel();
+        }
+    }
+
+    public ParsedSource edit(TextEdit textEdit) {
+        var tokenStreamEdit = tokenStream.edit(textEdit);
+
+        var keptSpans = 0;
+        while (keptSpans < spans.size() && spans.get(keptSpans).lastReadToken() < tokenStreamEdit.firstRelexedToken()) {
+            keptSpans++;
+        }
+
+        var firstToken = keptSpans > 0 ? spans.get(keptSpans - 1).endToken() : 0;
+
+        return parse(
+            tokenStreamEdit.tokens(),
+            spans.subList(0, keptSpans),
+            firstToken,
+            this,
+            tokenStreamEdit,
+            null,
+            null
+        );
+    }
+
+    public SourceText sourceText() {
+        return tokenStream.sourceText();
+    }
+
+    public TokenStream tokenStream() {
+        return tokenStream;
+    }
+
+    public Optional<Program> program() {
+        return program;
+    }
+
+    public List<Report> reports() {
+        var reports = new ArrayList<Report>(tokenStream.reports());
+
+        spans.forEach(span -> reports.addAll(span.reports()));
+        reports.addAll(trailingReports);
+
+        return Collections.unmodifiableList(reports);
+    }
+
+    private static ParsedSource parse(
+        TokenStream tokenStream,
+        List<Span> keptSpans,
+        int firstToken,
+        @Nullable ParsedSource previous,
+        @Nullable TokenStream.Edit edit,
+        @Nullable Chunks chunks,
+        @Nullable Reporter reporter)
+    {
+        if (reporter != null) {
+            tokenStream.reports().forEach(reporter::report);
+        }
+
+        var spans = new ArrayList<Span>(keptSpans);
+        var reader = TokenReader.startReading(tokenStream.buffer(), firstToken);
+        var lastReadToken = 0;
+
+        var trailingReports = new ArrayList<Report>();
+        Report failure = null;
+
+        while (!reader.atEnd()) {
+            var spanStart = reader.position();
+
+            if (edit != null && spanStart >= edit.firstReusedToken()) {
+                var previousSpan = previous.spanStartingAt(edit.previousTokenIndex(spanStart));
+
+                if (previousSpan >= 0) {
+                    return previous.reuseFrom(previousSpan, tokenStream, spans, edit);
+                }
+            }
+
+            var chunkSpans = chunks != null ? chunks.spansStartingAt(spanStart) : null;
+
+            if (chunkSpans != null) {
+                for (var span : chunkSpans) {
+                    lastReadToken = Math.max(lastReadToken, span.lastReadToken());
+                    spans.add(span.withLastReadToken(lastReadToken));
+
+                    if (reporter != null) {
+                        span.reports().forEach(reporter::report);
+                    }
+                }
+
+                reader.seek(spans.get(spans.size() - 1).endToken());
+                continue;
+            }
+
+            var spanReporter = new Reporter();
+            var beforeDefinitionIndex = reader.tokenIndex();
+            var result = ProgramParser.recoverableDefinition.parse(reader, spanReporter);
+
+            if (!result.isSuccess()) {
+                trailingReports.addAll(spanReporter.reports());
+
+                if (!result.isErrorAt(reader, beforeDefinitionIndex)) {
+                    failure = result.error();
+                }
+
+                break;
+            }
+
+            lastReadToken = Math.max(lastReadToken, reader.furthestPosition());
+
+            spans.add(new Span(
+                spanStart,
+                reader.position(),
+                lastReadToken,
+                result.value(),
+                spanReporter.reports()
+            ));
+
+            if (reporter != null) {
+                spanReporter.reports().forEach(reporter::report);
+            }
+        }
+
+        if (!reader.atEnd()) {
+            trailingReports.add(
+                Report.builder()
+                    .selection(reader.selection())
+                    .kind(Report.Kind.END_OF_INPUT_EXPECTED)
+                    .unexpectedTokenKind(reader.currentKind())
+                    .build()
+            );
+        }
+
+        if (failure != null) {
+            trailingReports.add(failure);
+        }
+
+        if (reporter != null) {
+            trailingReports.forEach(reporter::report);
+        }
+
+        return new ParsedSource(tokenStream, spans, trailingReports, failure != null);
+    }
+
+    private static List<Span> parseChunk(TokenBuffer buffer, int chunkStart, int chunkEnd) {
+        var spans = new ArrayList<Span>();
+        var reader = TokenReader.startReading(buffer, chunkStart);
+
+        while (reader.position() < chunkEnd) {
+            var spanStart = reader.position();
+            var spanReporter = new Reporter();
+            var result = ProgramParser.recoverableDefinition.parse(reader, spanReporter);
+
+            if (!result.isSuccess()) {
+                break;
+            }
+
+            spans.add(new Span(
+                spanStart,
+                reader.position(),
+                reader.furthestPosition(),
+                result.value(),
+                spanReporter.reports()
+            ));
+        }
+
+        return spans;
+    }
+
+    private static int[] splitAtDefinitions(TokenBuffer buffer, int maxChunkCount) {
+        var chunkTokens = Math.max(MIN_CHUNK_TOKENS, buffer.size() / maxChunkCount);
+        var chunkStarts = new ArrayList<Integer>();
+        var depth = 0;
+
+        chunkStarts.add(0);
+
+        for (int i = 0; i < buffer.size(); i++) {
+            var kind = buffer.kind(i);
+
+            if (kind == Token.Kind.OPEN_CURLY_BRACE) {
+                depth++;
+                continue;
+            }
+
+            if (kind == Token.Kind.CLOSE_CURLY_BRACE) {
+                depth = Math.max(0, depth - 1);
+            } else if (kind != Token.Kind.SEMICOLON || depth > 0) {
+                continue;
+            }
+
+            var chunkStart = chunkStarts.get(chunkStarts.size() - 1);
+
+            if (depth == 0 && i + 1 < buffer.size() && i + 1 - chunkStart >= chunkTokens) {
+                chunkStarts.add(i + 1);
+            }
+        }
+
+        return chunkStarts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private int spanStartingAt(int tokenIndex) {
+        int low = 0, high = spans.size() - 1;
+
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var spanStart = spans.get(middle).firstToken();
+
+            if (spanStart == tokenIndex) {
+                return middle;
+            }
+
+            if (spanStart < tokenIndex) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return -1;
+    }
+
+    private ParsedSource reuseFrom(int firstSpan, TokenStream tokenStream, List<Span> spans, TokenStream.Edit edit) {
+        var shift = edit.shift();
+        var reuseLocation = this.tokenStream.buffer().selection(this.spans.get(firstSpan).firstToken()).start();
+
+        var identityShift = shift.isIdentityFrom(reuseLocation);
+        var definitionShifter = new DefinitionShifter(shift);
+        var tokenDelta = edit.reusedTokenDelta();
+
+        for (var span : this.spans.subList(firstSpan, this.spans.size())) {
+            if (identityShift && tokenDelta == 0) {
+                spans.add(span);
+                continue;
+            }
+
+            spans.add(new Span(
+                span.firstToken() - tokenDelta,
+                span.endToken() - tokenDelta,
+                span.lastReadToken() - tokenDelta,
+                identityShift || span.definition() == null ? span.definition() : definitionShifter.shift(span.definition()),
+                identityShift ? span.reports() : shift(span.reports(), shift)
+            ));
+        }
+
+        var shiftedTrailingReports = identityShift ? trailingReports : shift(trailingReports, shift);
+
+        return new ParsedSource(tokenStream, spans, shiftedTrailingReports, failed);
+    }
+
+    private static List<Report> shift(List<Report> reports, LocationShift shift) {
+        return reports.stream()
+            .map(report -> report.toBuilder().selection(shift.apply(report.selection())).build())
+            .toList();
+    }
+}
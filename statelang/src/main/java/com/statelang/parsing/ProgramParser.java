@@ -23,10 +23,12 @@ public final class ProgramParser {
         DefinitionParser.inState
     );
 
-    public static Parser<Program> program = definition
+    static Parser<Definition> recoverableDefinition = definition
         .recover(
-            Parse.skipUntil(Parse.token(SEMICOLON, CLOSE_CURLY_BRACE)).as(null)
-        )
+            Parse.skipUntil(SEMICOLON, CLOSE_CURLY_BRACE).as(null)
+        );
+
+    public static Parser<Program> program = recoverableDefinition
         .many()
         .map(defs -> defs.stream().filter(Objects::nonNull).toList())
         .map(Program::new);
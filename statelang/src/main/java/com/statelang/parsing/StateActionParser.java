@@ -67,10 +67,7 @@ public final class StateActionParser {
         .then(
             action
                 .recover(
-                    Parse.skipUntil(
-                        Parse.oneOf(Parse.token(CLOSE_CURLY_BRACE), Parse.token(SEMICOLON))
-                    )
-                        .as(null)
+                    Parse.skipUntil(CLOSE_CURLY_BRACE, SEMICOLON).as(null)
                 )
                 .manyUntil(Parse.token(CLOSE_CURLY_BRACE))
                 .map(actions -> actions.stream().filter(Objects::nonNull).toList())
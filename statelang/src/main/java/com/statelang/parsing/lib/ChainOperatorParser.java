@@ -1,8 +1,9 @@
 package com.statelang.parsing.lib;
 
-import lombok.AllArgsConstructor;
+import java.util.Set;
+
+import com.statelang.tokenization.Token;
 
-@AllArgsConstructor
 final class ChainOperatorParser<TTerm, TOperator> extends Parser<TTerm> {
 
     private final Parser<TTerm> firstTermParser;
@@ -13,6 +14,22 @@ final class ChainOperatorParser<TTerm, TOperator> extends Parser<TTerm> {
 
     private final ChainOperatorApplier<TOperator, TTerm> apply;
 
+    private final Set<Token.Kind> operatorTokenKinds;
+
+    ChainOperatorParser(
+        Parser<TTerm> firstTermParser,
+        Parser<TTerm> restTermsParser,
+        Parser<TOperator> operatorParser,
+        ChainOperatorApplier<TOperator, TTerm> apply)
+    {
+        this.firstTermParser = firstTermParser;
+        this.restTermsParser = restTermsParser;
+        this.operatorParser = operatorParser;
+        this.apply = apply;
+
+        operatorTokenKinds = operatorParser.firstTokenKinds();
+    }
+
     @Override
     public ParserResult<TTerm> parse(ParserContext context) {
         var firstItemResult = firstTermParser.parse(context);
@@ -24,23 +41,37 @@ final class ChainOperatorParser<TTerm, TOperator> extends Parser<TTerm> {
         return parseRest(context, firstItemResult.value());
     }
 
+    @Override
+    public Set<Token.Kind> firstTokenKinds() {
+        return firstTermParser.firstTokenKinds();
+    }
+
     private ParserResult<TTerm> parseRest(ParserContext context, TTerm firstTerm) {
-        var beforeOperatorLocation = context.reader().location();
+        var reader = context.reader();
+        var term = firstTerm;
 
-        var operatorResult = operatorParser.parse(context);
+        while (true) {
+            if (operatorTokenKinds != null && (reader.atEnd() || !operatorTokenKinds.contains(reader.currentKind()))) {
+                return ParserResult.fromValue(term);
+            }
 
-        if (!operatorResult.isSuccess()) {
-            return operatorResult.error().location().equals(beforeOperatorLocation)
-                    ? ParserResult.fromValue(firstTerm)
-                    : ParserResult.fromError(operatorResult.error());
-        }
+            var beforeOperatorIndex = reader.tokenIndex();
 
-        var secondTermResult = restTermsParser.parse(context);
+            var operatorResult = operatorParser.parse(context);
 
-        if (!secondTermResult.isSuccess()) {
-            return secondTermResult;
-        }
+            if (!operatorResult.isSuccess()) {
+                return operatorResult.isErrorAt(reader, beforeOperatorIndex)
+                        ? ParserResult.fromValue(term)
+                        : operatorResult.asError();
+            }
 
-        return parseRest(context, apply.apply(operatorResult.value(), firstTerm, secondTermResult.value()));
+            var secondTermResult = restTermsParser.parse(context);
+
+            if (!secondTermResult.isSuccess()) {
+                return secondTermResult;
+            }
+
+            term = apply.apply(operatorResult.value(), term, secondTermResult.value());
+        }
     }
 }
@@ -1,8 +1,10 @@
 package com.statelang.parsing.lib;
 
-import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.statelang.diagnostics.Report;
+import com.statelang.tokenization.Token;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -10,7 +12,7 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 final class ErrorParser<T> extends Parser<T> {
 
-    private static final HashMap<Report.Kind, ErrorParser<?>> instances = new HashMap<>();
+    private static final ConcurrentHashMap<Report.Kind, ErrorParser<?>> instances = new ConcurrentHashMap<>();
 
     private final Report.Kind reportKind;
 
@@ -22,10 +24,11 @@ final class ErrorParser<T> extends Parser<T> {
 
     @Override
     public ParserResult<T> parse(ParserContext context) {
-        var reader = context.reader();
+        return ParserResult.fromError(context.reader(), reportKind, 0, null);
+    }
 
-        return ParserResult.fromError(Report.builder()
-                .selection(reader.selection())
-                .kind(reportKind));
+    @Override
+    public Set<Token.Kind> firstTokenKinds() {
+        return FirstTokenKinds.NONE;
     }
 }
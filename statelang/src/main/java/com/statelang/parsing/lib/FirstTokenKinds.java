@@ -0,0 +1,64 @@
+package com.statelang.parsing.lib;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import com.statelang.tokenization.Token;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class FirstTokenKinds {
+
+    static final Set<Token.Kind> NONE = Collections.unmodifiableSet(EnumSet.noneOf(Token.Kind.class));
+
+    private static final Token.Kind[] kindValues = Token.Kind.values();
+
+    static Set<Token.Kind> of(Token.Kind kind) {
+        return Collections.unmodifiableSet(EnumSet.of(kind));
+    }
+
+    @Nullable
+    static Set<Token.Kind> union(Parser<?>[] parsers) {
+        var union = EnumSet.noneOf(Token.Kind.class);
+
+        for (var parser : parsers) {
+            var kinds = parser.firstTokenKinds();
+
+            if (kinds == null) {
+                return null;
+            }
+
+            union.addAll(kinds);
+        }
+
+        return Collections.unmodifiableSet(union);
+    }
+
+    @Nullable
+    static int[] dispatchTable(Parser<?>[] parsers) {
+        if (parsers[0].firstTokenKinds() == null) {
+            return null;
+        }
+
+        var table = new int[kindValues.length];
+        Arrays.fill(table, -1);
+
+        for (int i = parsers.length - 1; i >= 0; i--) {
+            var kinds = parsers[i].firstTokenKinds();
+
+            for (var kind : kindValues) {
+                if (kinds == null || kinds.contains(kind)) {
+                    table[kind.ordinal()] = i;
+                }
+            }
+        }
+
+        return table;
+    }
+}
@@ -17,17 +17,15 @@ final class ManyParser<T> extends Parser<List<T>> {
         List<T> elements = new LinkedList<>();
 
         while (!reader.atEnd()) {
-            var beforeElementLocation = reader.location();
+            var beforeElementIndex = reader.tokenIndex();
             var elementResult = elementParser.parse(context);
 
             if (!elementResult.isSuccess()) {
-                var error = elementResult.error();
-
-                if (error.location().equals(beforeElementLocation)) {
+                if (elementResult.isErrorAt(reader, beforeElementIndex)) {
                     break;
                 }
 
-                return ParserResult.fromError(error);
+                return elementResult.asError();
             }
 
             elements.add(elementResult.value());
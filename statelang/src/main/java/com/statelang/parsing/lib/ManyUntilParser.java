@@ -19,21 +19,21 @@ final class ManyUntilParser<T> extends Parser<List<T>> {
         List<T> elements = new LinkedList<>();
 
         while (true) {
-            var beforeElementLocation = reader.location();
+            var beforeElementIndex = reader.tokenIndex();
 
             var endResult = endParser.parse(context);
             if (endResult.isSuccess()) {
                 break;
             }
 
-            if (!endResult.error().location().equals(beforeElementLocation)) {
-                return ParserResult.fromError(endResult.error());
+            if (!endResult.isErrorAt(reader, beforeElementIndex)) {
+                return endResult.asError();
             }
 
             var elementResult = elementParser.parse(context);
 
             if (!elementResult.isSuccess()) {
-                return ParserResult.fromError(elementResult.error());
+                return elementResult.asError();
             }
 
             elements.add(elementResult.value());
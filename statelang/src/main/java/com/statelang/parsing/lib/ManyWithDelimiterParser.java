@@ -19,32 +19,28 @@ final class ManyWithDelimiterParser<T> extends Parser<List<T>> {
         List<T> elements = new LinkedList<>();
 
         while (!reader.atEnd()) {
-            var beforeElementLocation = reader.location();
+            var beforeElementIndex = reader.tokenIndex();
             var elementResult = elementParser.parse(context);
 
             if (!elementResult.isSuccess()) {
-                var error = elementResult.error();
-
-                if (error.location().equals(beforeElementLocation)) {
+                if (elementResult.isErrorAt(reader, beforeElementIndex)) {
                     break;
                 }
 
-                return ParserResult.fromError(error);
+                return elementResult.asError();
             }
 
             elements.add(elementResult.value());
 
-            var beforeDelimiterLocation = reader.location();
+            var beforeDelimiterIndex = reader.tokenIndex();
             var delimiterResult = delimiterParser.parse(context);
 
             if (!delimiterResult.isSuccess()) {
-                var error = delimiterResult.error();
-
-                if (error.location().equals(beforeDelimiterLocation) || reader.atEnd()) {
+                if (delimiterResult.isErrorAt(reader, beforeDelimiterIndex) || reader.atEnd()) {
                     break;
                 }
 
-                return ParserResult.fromError(error);
+                return delimiterResult.asError();
             }
         }
 
@@ -0,0 +1,47 @@
+package com.statelang.parsing.lib;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.statelang.tokenization.Token;
+
+final class MemoParser<T> extends Parser<T> {
+
+    private static final AtomicInteger parserCount = new AtomicInteger();
+
+    private final int id = parserCount.getAndIncrement();
+
+    private final Parser<T> parser;
+
+    MemoParser(Parser<T> parser) {
+        this.parser = parser;
+    }
+
+    @Override
+    public ParserResult<T> parse(ParserContext context) {
+        var reader = context.reader();
+        var memoTable = context.memoTable();
+        var startPosition = reader.position();
+
+        var slot = memoTable.find(id, startPosition);
+
+        if (slot >= 0) {
+            reader.seek(memoTable.endPosition(slot));
+
+            @SuppressWarnings("unchecked")
+            var result = (ParserResult<T>) memoTable.result(slot);
+            return result;
+        }
+
+        var result = parser.parse(context);
+
+        memoTable.put(id, startPosition, result, reader.position());
+
+        return result;
+    }
+
+    @Override
+    public Set<Token.Kind> firstTokenKinds() {
+        return parser.firstTokenKinds();
+    }
+}
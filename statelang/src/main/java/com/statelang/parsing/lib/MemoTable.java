@@ -0,0 +1,80 @@
+package com.statelang.parsing.lib;
+
+final class MemoTable {
+
+    private long[] keys = new long[64];
+
+    private ParserResult<?>[] results = new ParserResult<?>[64];
+
+    private int[] endPositions = new int[64];
+
+    private int size = 0;
+
+    int find(int parserId, int position) {
+        var key = key(parserId, position);
+        var mask = keys.length - 1;
+
+        for (int slot = hash(key) & mask; results[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+
+        return -1;
+    }
+
+    ParserResult<?> result(int slot) {
+        return results[slot];
+    }
+
+    int endPosition(int slot) {
+        return endPositions[slot];
+    }
+
+    void put(int parserId, int position, ParserResult<?> result, int endPosition) {
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+
+        insert(key(parserId, position), result, endPosition);
+        size++;
+    }
+
+    private void insert(long key, ParserResult<?> result, int endPosition) {
+        var mask = keys.length - 1;
+        var slot = hash(key) & mask;
+
+        while (results[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        results[slot] = result;
+        endPositions[slot] = endPosition;
+    }
+
+    private void grow() {
+        var oldKeys = keys;
+        var oldResults = results;
+        var oldEndPositions = endPositions;
+
+        keys = new long[oldKeys.length * 2];
+        results = new ParserResult<?>[oldKeys.length * 2];
+        endPositions = new int[oldKeys.length * 2];
+
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldResults[slot] != null) {
+                insert(oldKeys[slot], oldResults[slot], oldEndPositions[slot]);
+            }
+        }
+    }
+
+    private static long key(int parserId, int position) {
+        return ((long) parserId << 32) | (position & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        var mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
@@ -1,37 +1,76 @@
 package com.statelang.parsing.lib;
 
+import java.util.Set;
+
 import com.google.common.base.Preconditions;
-import com.statelang.diagnostics.Report;
+import com.statelang.tokenization.Token;
 
 final class OneOfParser<T> extends Parser<T> {
 
     private final Parser<T>[] parsers;
 
+    private final Set<Token.Kind> firstTokenKinds;
+
+    private final int[] dispatchTable;
+
     public OneOfParser(Parser<T>[] parsers) {
         Preconditions.checkArgument(parsers.length >= 2, "OneOfParser expects at least two parsers");
 
         this.parsers = parsers.clone();
+
+        firstTokenKinds = FirstTokenKinds.union(this.parsers);
+        dispatchTable = FirstTokenKinds.dispatchTable(this.parsers);
     }
 
     @Override
     public ParserResult<T> parse(ParserContext context) {
         var reader = context.reader();
 
-        var startLocation = reader.location();
-        Report bestError = null;
+        var startIndex = reader.tokenIndex();
+
+        if (dispatchTable != null && !reader.atEnd()) {
+            var viableParser = dispatchTable[reader.currentKind().ordinal()];
+
+            if (viableParser > 0) {
+                var result = parsers[viableParser].parse(context);
+
+                if (result.isSuccess() || !result.isErrorAt(reader, startIndex)) {
+                    return result;
+                }
+
+                return parseInOrder(context, startIndex, viableParser, result);
+            }
+        }
+
+        return parseInOrder(context, startIndex, -1, null);
+    }
+
+    @Override
+    public Set<Token.Kind> firstTokenKinds() {
+        return firstTokenKinds;
+    }
+
+    private ParserResult<T> parseInOrder(
+        ParserContext context,
+        int startIndex,
+        int parsedIndex,
+        ParserResult<T> parsedResult)
+    {
+        var reader = context.reader();
+        ParserResult<T> bestError = null;
 
-        for (var parser : parsers) {
-            var result = parser.parse(context);
+        for (int i = 0; i < parsers.length; i++) {
+            var result = i == parsedIndex ? parsedResult : parsers[i].parse(context);
 
-            if (result.isSuccess() || !result.error().location().equals(startLocation)) {
+            if (result.isSuccess() || !result.isErrorAt(reader, startIndex)) {
                 return result;
             }
 
             bestError = bestError == null
-                    ? result.error()
-                    : Report.determineMostRelevant(bestError, result.error());
+                    ? result
+                    : ParserResult.mostRelevantError(bestError, result);
         }
 
-        return ParserResult.fromError(bestError);
+        return bestError;
     }
 }
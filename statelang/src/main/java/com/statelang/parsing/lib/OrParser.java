@@ -1,18 +1,46 @@
 package com.statelang.parsing.lib;
 
-import com.statelang.diagnostics.Report;
+import java.util.Set;
 
-import lombok.AllArgsConstructor;
+import com.statelang.tokenization.Token;
 
-@AllArgsConstructor
 final class OrParser<T> extends Parser<T> {
     private final Parser<T> firstParser;
 
     private final Parser<T> seconParser;
 
+    private final Set<Token.Kind> firstTokenKinds;
+
+    private final int[] dispatchTable;
+
+    OrParser(Parser<T> firstParser, Parser<T> seconParser) {
+        this.firstParser = firstParser;
+        this.seconParser = seconParser;
+
+        var parsers = new Parser<?>[] { firstParser, seconParser };
+        firstTokenKinds = FirstTokenKinds.union(parsers);
+        dispatchTable = FirstTokenKinds.dispatchTable(parsers);
+    }
+
     @Override
     public ParserResult<T> parse(ParserContext context) {
-        var startLocation = context.reader().location();
+        var reader = context.reader();
+        var startIndex = reader.tokenIndex();
+
+        var firstIsViable = dispatchTable == null
+            || reader.atEnd()
+            || dispatchTable[reader.currentKind().ordinal()] != 1;
+
+        if (!firstIsViable) {
+            var resultB = seconParser.parse(context);
+
+            if (resultB.isSuccess() || !resultB.isErrorAt(reader, startIndex)) {
+                return resultB;
+            }
+
+            var resultA = firstParser.parse(context);
+            return ParserResult.mostRelevantError(resultA, resultB);
+        }
 
         var resultA = firstParser.parse(context);
 
@@ -20,16 +48,21 @@ final class OrParser<T> extends Parser<T> {
             return resultA;
         }
 
-        if (!resultA.error().location().equals(startLocation)) {
+        if (!resultA.isErrorAt(reader, startIndex)) {
             return resultA;
         }
 
         var resultB = seconParser.parse(context);
 
         if (!resultB.isSuccess()) {
-            return ParserResult.fromError(Report.determineMostRelevant(resultA.error(), resultB.error()));
+            return ParserResult.mostRelevantError(resultA, resultB);
         }
 
         return resultB;
     }
+
+    @Override
+    public Set<Token.Kind> firstTokenKinds() {
+        return firstTokenKinds;
+    }
 }
@@ -1,11 +1,15 @@
 package com.statelang.parsing.lib;
 
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Suppliers;
 import com.statelang.diagnostics.Report;
 import com.statelang.tokenization.SourceSelection;
 import com.statelang.tokenization.Token;
@@ -85,17 +89,12 @@ public final class Parse {
     public static <T> Parser<T> ref(Supplier<Parser<T>> parserSupplier) {
         Preconditions.checkArgument(parserSupplier != null, "parserSupplier is null");
 
-        return new Parser<T>() {
-            private Parser<T> suppliedParser = null;
+        var suppliedParser = Suppliers.memoize(() -> Objects.requireNonNull(parserSupplier.get()));
 
+        return new Parser<T>() {
             @Override
             public ParserResult<T> parse(ParserContext context) {
-                if (suppliedParser == null) {
-                    suppliedParser = parserSupplier.get();
-                    Objects.requireNonNull(suppliedParser);
-                }
-
-                return suppliedParser.parse(context);
+                return suppliedParser.get().parse(context);
             }
         };
     }
@@ -103,16 +102,16 @@ public final class Parse {
     public static <T> Parser<T> recursive(Function<Parser<T>, Parser<T>> recursiveParserCreator) {
         Preconditions.checkArgument(recursiveParserCreator != null, "recursiveParserCreator is null");
 
-        var recParser = new Parser<T>() {
-            public Parser<T> recursiveRef = null;
+        var recursiveRef = new AtomicReference<Parser<T>>();
 
+        var recParser = new Parser<T>() {
             @Override
             public ParserResult<T> parse(ParserContext context) {
-                return recursiveRef.parse(context);
+                return recursiveRef.get().parse(context);
             }
         };
 
-        recParser.recursiveRef = recursiveParserCreator.apply(recParser);
+        recursiveRef.set(recursiveParserCreator.apply(recParser));
 
         return recParser;
     }
@@ -157,9 +156,26 @@ public final class Parse {
                     return result;
                 }
             }
+
+            @Override
+            public Set<Token.Kind> firstTokenKinds() {
+                return parser.firstTokenKinds();
+            }
         };
     }
 
+    /**
+     * Skips tokens until one of the given kinds outside of curly braces and
+     * consumes it. A closing brace that ends the skipped braces is also a sync
+     * point if {@code CLOSE_CURLY_BRACE} is given.
+     */
+    public static Parser<Token> skipUntil(Token.Kind... syncTokenKinds) {
+        Preconditions.checkArgument(syncTokenKinds != null, "syncTokenKinds is null");
+        Preconditions.checkArgument(syncTokenKinds.length >= 1, "syncTokenKinds.length < 1");
+
+        return new SkipUntilParser(EnumSet.copyOf(Arrays.asList(syncTokenKinds)));
+    }
+
     public static <T> Parser<T> skipUntil(Parser<T> parser) {
         Preconditions.checkArgument(parser != null, "parser is null");
 
@@ -2,18 +2,32 @@ package com.statelang.parsing.lib;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
+import javax.annotation.Nullable;
+
 import com.google.common.base.Preconditions;
 import com.google.common.base.Supplier;
 import com.statelang.diagnostics.Report;
 import com.statelang.diagnostics.Reporter;
 import com.statelang.tokenization.SourceText;
+import com.statelang.tokenization.Token;
 import com.statelang.tokenization.TokenReader;
 
 public abstract class Parser<T> {
     public abstract ParserResult<T> parse(ParserContext context);
 
+    /**
+     * Token kinds a successful parse can start with, or {@code null} if unknown.
+     * On any other token a parser with known kinds fails at the start location
+     * without side effects, and it always consumes a token on success.
+     */
+    @Nullable
+    public Set<Token.Kind> firstTokenKinds() {
+        return null;
+    }
+
     public final Optional<T> tryParse(SourceText sourceText, Reporter reporter) {
         var reader = TokenReader.startReading(sourceText, reporter);
 
@@ -24,12 +38,8 @@ public abstract class Parser<T> {
                 Report.builder()
                     .selection(reader.selection())
                     .kind(Report.Kind.END_OF_INPUT_EXPECTED)
-                    .unexpectedTokenKind(reader.currentToken().kind())
+                    .unexpectedTokenKind(reader.currentKind())
             );
-
-            while (reader.tryAdvance()) {
-                // yield errors on invalid tokens
-            }
         }
 
         if (!result.isSuccess()) {
@@ -40,6 +50,10 @@ public abstract class Parser<T> {
         return Optional.of(result.value());
     }
 
+    public final ParserResult<T> parse(TokenReader reader, Reporter reporter) {
+        return parse(new ParserContext(reader, reporter));
+    }
+
     public final <U> Parser<U> then(Parser<U> nextParser) {
         return new ThenParser<>(this, nextParser);
     }
@@ -59,7 +73,12 @@ public abstract class Parser<T> {
                 var result = Parser.this.parse(context);
                 return result.isSuccess()
                     ? ParserResult.fromValue(successMapper.apply(result.value()))
-                    : ParserResult.fromError(result.error());
+                    : result.asError();
+            }
+
+            @Override
+            public Set<Token.Kind> firstTokenKinds() {
+                return Parser.this.firstTokenKinds();
             }
         };
     }
@@ -75,13 +94,16 @@ public abstract class Parser<T> {
                 var result = Parser.this.parse(context);
 
                 if (!result.isSuccess()) {
-                    return ParserResult.fromError(
-                        result.error().toBuilder().kind(reportKind)
-                    );
+                    return result.withErrorKind(reportKind);
                 }
 
                 return result;
             }
+
+            @Override
+            public Set<Token.Kind> firstTokenKinds() {
+                return Parser.this.firstTokenKinds();
+            }
         };
     }
 
@@ -105,6 +127,16 @@ public abstract class Parser<T> {
         return new ManyWithDelimiterParser<>(this, delimiter);
     }
 
+    /**
+     * Caches results by token position for the duration of a single parse.
+     * A repeated attempt at the same position skips to the cached end position
+     * without reporting again, so the parser must not read {@link ParserState}
+     * values of enclosing parsers.
+     */
+    public final Parser<T> memo() {
+        return new MemoParser<>(this);
+    }
+
     public final Parser<T> recover(Parser<T> recoveryParser) {
         Preconditions.checkArgument(recoveryParser != null, "recoveryParser is null");
 
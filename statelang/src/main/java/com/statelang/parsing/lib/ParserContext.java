@@ -1,17 +1,80 @@
 package com.statelang.parsing.lib;
 
+import java.util.Arrays;
+
 import com.statelang.diagnostics.Reporter;
 import com.statelang.tokenization.TokenReader;
 
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 
-@Data
-@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
 public final class ParserContext {
 
+    private static final ThreadLocal<ParserContext> activeContext = new ThreadLocal<>();
+
+    private static final Object UNSET = new Object();
+
+    @Getter
     private final TokenReader reader;
 
+    @Getter
     private final Reporter reporter;
+
+    private Object[] stateValues = new Object[0];
+
+    private MemoTable memoTable = null;
+
+    static ParserContext activate(ParserContext context) {
+        var previousContext = activeContext.get();
+
+        if (previousContext != context) {
+            activeContext.set(context);
+        }
+
+        return previousContext;
+    }
+
+    static void restore(ParserContext previousContext, ParserContext context) {
+        if (previousContext != context) {
+            activeContext.set(previousContext);
+        }
+    }
+
+    static Object activeStateValue(ParserState<?> state) {
+        var context = activeContext.get();
+
+        if (context == null || state.slot() >= context.stateValues.length) {
+            return UNSET;
+        }
+
+        return context.stateValues[state.slot()];
+    }
+
+    static boolean isSet(Object stateValue) {
+        return stateValue != UNSET;
+    }
+
+    MemoTable memoTable() {
+        if (memoTable == null) {
+            memoTable = new MemoTable();
+        }
+
+        return memoTable;
+    }
+
+    Object swapStateValue(ParserState<?> state, Object value) {
+        var slot = state.slot();
+
+        if (slot >= stateValues.length) {
+            var oldLength = stateValues.length;
+            stateValues = Arrays.copyOf(stateValues, Math.max(slot + 1, oldLength * 2));
+            Arrays.fill(stateValues, oldLength, stateValues.length, UNSET);
+        }
+
+        var previousValue = stateValues[slot];
+        stateValues[slot] = value;
+        return previousValue;
+    }
 }
@@ -1,25 +1,29 @@
 package com.statelang.parsing.lib;
 
+import javax.annotation.Nullable;
+
 import com.google.common.base.Preconditions;
 import com.statelang.diagnostics.Report;
+import com.statelang.tokenization.Token;
+import com.statelang.tokenization.TokenReader;
 
 public final class ParserResult<T> {
     private final boolean success;
 
     private final T value;
 
-    private final Report error;
+    private final Failure failure;
 
     private ParserResult(T value) {
         success = true;
         this.value = value;
-        error = null;
+        failure = null;
     }
 
-    private ParserResult(Report error) {
+    private ParserResult(Failure failure) {
         success = false;
         value = null;
-        this.error = error;
+        this.failure = failure;
     }
 
     public static <T> ParserResult<T> fromValue(T value) {
@@ -27,13 +31,29 @@ public final class ParserResult<T> {
     }
 
     public static <T> ParserResult<T> fromError(Report errorReport) {
-        return new ParserResult<>(errorReport);
+        return new ParserResult<>(new Failure(errorReport));
     }
 
     public static <T> ParserResult<T> fromError(Report.ReportBuilder errorReportBuilder) {
         return fromError(errorReportBuilder.build());
     }
 
+    /**
+     * Creates a failure at the current token of the reader. The {@link Report}
+     * is built only if {@link #error()} is called, so failures that are
+     * discarded by alternatives cost no more than this result.
+     */
+    public static <T> ParserResult<T> fromError(
+        TokenReader reader,
+        Report.Kind kind,
+        long expectedTokenKindsMask,
+        @Nullable Token.Kind unexpectedTokenKind)
+    {
+        return new ParserResult<>(
+            new Failure(reader, reader.tokenIndex(), kind, expectedTokenKindsMask, unexpectedTokenKind)
+        );
+    }
+
     public boolean isSuccess() {
         return success;
     }
@@ -45,6 +65,122 @@ public final class ParserResult<T> {
 
     public Report error() {
         Preconditions.checkState(!success);
-        return error;
+        return failure.report();
+    }
+
+    /**
+     * Checks whether the error is located at the given token of the reader,
+     * as returned by {@link TokenReader#tokenIndex()}.
+     */
+    public boolean isErrorAt(TokenReader reader, int tokenIndex) {
+        Preconditions.checkState(!success);
+
+        return failure.reader != null
+            ? failure.tokenIndex == tokenIndex
+            : failure.report().location().equals(reader.selectionAt(tokenIndex).start());
+    }
+
+    public <U> ParserResult<U> asError() {
+        Preconditions.checkState(!success);
+
+        @SuppressWarnings("unchecked")
+        var result = (ParserResult<U>) this;
+        return result;
+    }
+
+    public ParserResult<T> withErrorKind(Report.Kind kind) {
+        Preconditions.checkState(!success);
+
+        if (failure.reader == null) {
+            return fromError(failure.report().toBuilder().kind(kind));
+        }
+
+        return new ParserResult<>(new Failure(
+            failure.reader,
+            failure.tokenIndex,
+            kind,
+            failure.expectedTokenKindsMask,
+            failure.unexpectedTokenKind
+        ));
+    }
+
+    /**
+     * Combines two failures like {@link Report#determineMostRelevant}, but
+     * without building the reports when both were created at a token.
+     */
+    public static <T> ParserResult<T> mostRelevantError(ParserResult<T> first, ParserResult<T> second) {
+        Preconditions.checkState(!first.success && !second.success);
+
+        var a = first.failure;
+        var b = second.failure;
+
+        if (a.reader == null || b.reader == null || a.kind.severity() != b.kind.severity()) {
+            return fromError(Report.determineMostRelevant(a.report(), b.report()));
+        }
+
+        if (a.tokenIndex != b.tokenIndex) {
+            return a.tokenIndex > b.tokenIndex ? first : second;
+        }
+
+        var expectedTokenKindsMask = a.expectedTokenKindsMask | b.expectedTokenKindsMask;
+
+        if (expectedTokenKindsMask == a.expectedTokenKindsMask && a.unexpectedTokenKind == null) {
+            return first;
+        }
+
+        return new ParserResult<>(new Failure(a.reader, a.tokenIndex, a.kind, expectedTokenKindsMask, null));
+    }
+
+    private static final class Failure {
+
+        @Nullable
+        private final TokenReader reader;
+
+        private final int tokenIndex;
+
+        private final Report.Kind kind;
+
+        private final long expectedTokenKindsMask;
+
+        @Nullable
+        private final Token.Kind unexpectedTokenKind;
+
+        private Report report;
+
+        Failure(
+            TokenReader reader,
+            int tokenIndex,
+            Report.Kind kind,
+            long expectedTokenKindsMask,
+            @Nullable Token.Kind unexpectedTokenKind)
+        {
+            this.reader = reader;
+            this.tokenIndex = tokenIndex;
+            this.kind = kind;
+            this.expectedTokenKindsMask = expectedTokenKindsMask;
+            this.unexpectedTokenKind = unexpectedTokenKind;
+        }
+
+        Failure(Report report) {
+            reader = null;
+            tokenIndex = -1;
+            kind = report.kind();
+            expectedTokenKindsMask = 0;
+            unexpectedTokenKind = null;
+            this.report = report;
+        }
+
+        Report report() {
+            if (report == null) {
+                report = Report.builder()
+                    .selection(reader.selectionAt(tokenIndex))
+                    .kind(kind)
+                    .expectedTokenKindsMask(expectedTokenKindsMask)
+                    .unexpectedTokenKind(unexpectedTokenKind)
+                    .build();
+            }
+
+            return report;
+        }
     }
 }
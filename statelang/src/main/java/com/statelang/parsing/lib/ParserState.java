@@ -1,27 +1,27 @@
 package com.statelang.parsing.lib;
 
-import java.util.Stack;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.base.Preconditions;
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @NoArgsConstructor(access = AccessLevel.PACKAGE)
 public final class ParserState<T> {
 
-    private final Stack<T> values = new Stack<>();
+    private static final AtomicInteger slotCount = new AtomicInteger();
 
-    public T value() {
-        Preconditions.checkState(!values.empty(), "ParserState.value can be called only during parsing");
+    @Getter(AccessLevel.PACKAGE)
+    private final int slot = slotCount.getAndIncrement();
 
-        return values.peek();
-    }
+    public T value() {
+        var value = ParserContext.activeStateValue(this);
 
-    void pushValue(T value) {
-        values.push(value);
-    }
+        Preconditions.checkState(ParserContext.isSet(value), "ParserState.value can be called only during parsing");
 
-    void popValue() {
-        values.pop();
+        @SuppressWarnings("unchecked")
+        var typedValue = (T) value;
+        return typedValue;
     }
 }
@@ -0,0 +1,53 @@
+package com.statelang.parsing.lib;
+
+import java.util.EnumSet;
+
+import com.statelang.diagnostics.Report;
+import com.statelang.tokenization.Token;
+import com.statelang.tokenization.TokenReader;
+
+final class SkipUntilParser extends Parser<Token> {
+
+    private final EnumSet<Token.Kind> syncTokenKinds;
+
+    private final long expectedTokenKindsMask;
+
+    SkipUntilParser(EnumSet<Token.Kind> syncTokenKinds) {
+        this.syncTokenKinds = EnumSet.copyOf(syncTokenKinds);
+        expectedTokenKindsMask = Report.tokenKindsMask(syncTokenKinds);
+    }
+
+    @Override
+    public ParserResult<Token> parse(ParserContext context) {
+        var reader = context.reader();
+        var depth = 0;
+
+        while (!reader.atEnd()) {
+            var kind = reader.currentKind();
+
+            if (depth == 0 && syncTokenKinds.contains(kind)) {
+                return consume(reader);
+            }
+
+            if (kind == Token.Kind.OPEN_CURLY_BRACE) {
+                depth++;
+            } else if (kind == Token.Kind.CLOSE_CURLY_BRACE && depth > 0) {
+                depth--;
+
+                if (depth == 0 && syncTokenKinds.contains(kind)) {
+                    return consume(reader);
+                }
+            }
+
+            reader.tryAdvance();
+        }
+
+        return ParserResult.fromError(reader, Report.Kind.UNEXPECTED_END_OF_INPUT, expectedTokenKindsMask, null);
+    }
+
+    private static ParserResult<Token> consume(TokenReader reader) {
+        var result = ParserResult.fromValue(reader.currentToken());
+        reader.tryAdvance();
+        return result;
+    }
+}
@@ -1,5 +1,9 @@
 package com.statelang.parsing.lib;
 
+import java.util.Set;
+
+import com.statelang.tokenization.Token;
+
 import lombok.AllArgsConstructor;
 
 @AllArgsConstructor
@@ -15,6 +19,11 @@ final class ThenParser<T, U> extends Parser<U> {
 
         return result.isSuccess()
                 ? nextParser.parse(context)
-                : ParserResult.fromError(result.error());
+                : result.asError();
+    }
+
+    @Override
+    public Set<Token.Kind> firstTokenKinds() {
+        return currentParser.firstTokenKinds();
     }
 }
@@ -1,7 +1,10 @@
 package com.statelang.parsing.lib;
 
+import java.util.Set;
 import java.util.function.Function;
 
+import com.statelang.tokenization.Token;
+
 final class ThenParserWithState<T, U> extends Parser<U> {
     private final Parser<T> currentParser;
 
@@ -19,15 +22,22 @@ final class ThenParserWithState<T, U> extends Parser<U> {
         var result = currentParser.parse(context);
 
         if (!result.isSuccess()) {
-            return ParserResult.fromError(result.error());
+            return result.asError();
         }
 
-        state.pushValue(result.value());
-
-        var nextResult = nextParser.parse(context);
+        var previousContext = ParserContext.activate(context);
+        var previousValue = context.swapStateValue(state, result.value());
 
-        state.popValue();
+        try {
+            return nextParser.parse(context);
+        } finally {
+            context.swapStateValue(state, previousValue);
+            ParserContext.restore(previousContext, context);
+        }
+    }
 
-        return nextResult;
+    @Override
+    public Set<Token.Kind> firstTokenKinds() {
+        return currentParser.firstTokenKinds();
     }
 }
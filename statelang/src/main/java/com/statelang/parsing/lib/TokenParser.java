@@ -1,8 +1,8 @@
 package com.statelang.parsing.lib;
 
-import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Set;
 
 import com.statelang.diagnostics.Report;
 import com.statelang.tokenization.Token;
@@ -13,11 +13,14 @@ final class TokenParser extends Parser<Token> {
 
     private final Token.Kind tokenKind;
 
-    private final List<Token.Kind> expectedTokenKinds;
+    private final long expectedTokenKindsMask;
+
+    private final Set<Token.Kind> firstTokenKinds;
 
     private TokenParser(Token.Kind tokenKind) {
         this.tokenKind = tokenKind;
-        expectedTokenKinds = Arrays.asList(tokenKind);
+        expectedTokenKindsMask = Report.tokenKindsMask(List.of(tokenKind));
+        firstTokenKinds = FirstTokenKinds.of(tokenKind);
     }
 
     public static TokenParser of(Token.Kind tokenKind) {
@@ -30,22 +33,21 @@ final class TokenParser extends Parser<Token> {
 
         if (reader.atEnd()) {
             return ParserResult.fromError(
-                Report.builder()
-                    .selection(reader.selection())
-                    .kind(Report.Kind.UNEXPECTED_END_OF_INPUT)
-                    .expectedTokenKinds(expectedTokenKinds)
+                reader,
+                Report.Kind.UNEXPECTED_END_OF_INPUT,
+                expectedTokenKindsMask,
+                null
             );
         }
 
-        var actualTokenKind = reader.currentToken().kind();
+        var actualTokenKind = reader.currentKind();
 
         if (actualTokenKind != tokenKind) {
             return ParserResult.fromError(
-                Report.builder()
-                    .selection(reader.selection())
-                    .kind(Report.Kind.UNEXPECTED_TOKEN)
-                    .expectedTokenKinds(expectedTokenKinds)
-                    .unexpectedTokenKind(actualTokenKind)
+                reader,
+                Report.Kind.UNEXPECTED_TOKEN,
+                expectedTokenKindsMask,
+                actualTokenKind
             );
         }
 
@@ -55,4 +57,9 @@ final class TokenParser extends Parser<Token> {
 
         return result;
     }
+
+    @Override
+    public Set<Token.Kind> firstTokenKinds() {
+        return firstTokenKinds;
+    }
 }
@@ -0,0 +1,138 @@
+package com.statelang.runtime;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import com.statelang.compilation.CompiledProgram;
+
+public final class BytecodeExecutor {
+
+    private final MethodHandle machineConstructor;
+
+    private final List<String> memoryKeys;
+
+    private GeneratedMachine machine;
+
+    private int nextBlock;
+
+    private long executedBlocks = 0;
+
+    private boolean started = false;
+
+    @Nullable
+    private Boolean exitStatus = null;
+
+    @Nullable
+    private RuntimeError error = null;
+
+    public BytecodeExecutor(CompiledProgram compiledProgram) {
+        var generatedClass = BytecodeGenerator.generate(compiledProgram);
+
+        try {
+            var machineLookup = MethodHandles.lookup().defineHiddenClass(generatedClass.bytes(), true);
+            machineConstructor = machineLookup
+                .findConstructor(machineLookup.lookupClass(), MethodType.methodType(void.class))
+                .asType(MethodType.methodType(GeneratedMachine.class));
+        } catch (IllegalAccessException | NoSuchMethodException exception) {
+            throw new IllegalStateException("failed to load generated machine class", exception);
+        }
+
+        memoryKeys = generatedClass.memoryKeys();
+
+        reset();
+    }
+
+    public Map<String, Object> memory() {
+        var memory = new LinkedHashMap<String, Object>();
+        var values = machine.memory();
+
+        for (int slot = 0; slot < values.length; slot++) {
+            memory.put(memoryKeys.get(slot), values[slot]);
+        }
+
+        return Collections.unmodifiableMap(memory);
+    }
+
+    public boolean started() {
+        return started;
+    }
+
+    public boolean running() {
+        return started && !exited();
+    }
+
+    public boolean exited() {
+        return exitStatus != null;
+    }
+
+    @Nullable
+    public Boolean exitStatus() {
+        return exitStatus;
+    }
+
+    @Nullable
+    public RuntimeError error() {
+        return error;
+    }
+
+    @Nullable
+    public String state() {
+        return machine.state;
+    }
+
+    public long executedBlocks() {
+        return executedBlocks;
+    }
+
+    public long run(long maxBlocks) {
+        if (exited()) {
+            return 0;
+        }
+
+        var executed = 0L;
+
+        try {
+            if (!started) {
+                started = true;
+                nextBlock = machine.initialize();
+            }
+
+            while (nextBlock >= 0 && executed < maxBlocks) {
+                nextBlock = machine.execute(nextBlock);
+                executed++;
+            }
+
+            if (nextBlock < 0) {
+                exitStatus = nextBlock == GeneratedMachine.EXIT_SUCCESS;
+            }
+        } catch (RuntimeError runtimeError) {
+            error = runtimeError;
+            exitStatus = false;
+        } finally {
+            executedBlocks += executed;
+        }
+
+        return executed;
+    }
+
+    public void reset() {
+        try {
+            machine = (GeneratedMachine) machineConstructor.invokeExact();
+        } catch (Throwable exception) {
+            throw new IllegalStateException("failed to instantiate generated machine", exception);
+        }
+
+        nextBlock = 0;
+        executedBlocks = 0;
+        started = false;
+        exitStatus = null;
+        error = null;
+    }
+}
@@ -0,0 +1,442 @@
+package com.statelang.runtime;
+
+import static org.objectweb.asm.Opcodes.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import com.statelang.compilation.CompiledProgram;
+import com.statelang.compilation.instruction.*;
+import com.statelang.compilation.symbol.ConstantSymbol;
+import com.statelang.compilation.symbol.StateSymbol;
+import com.statelang.compilation.symbol.VariableSymbol;
+import com.statelang.model.BinaryOperator;
+import com.statelang.model.BooleanInstanceType;
+import com.statelang.model.InstanceType;
+import com.statelang.model.NumberInstanceType;
+import com.statelang.model.StringInstanceType;
+import com.statelang.model.UnaryOperator;
+
+final class BytecodeGenerator {
+
+    record GeneratedClass(byte[] bytes, List<String> memoryKeys) {}
+
+    private static final String CLASS_NAME = "com/statelang/runtime/GeneratedMachine$Program";
+
+    private static final String SUPER_NAME = Type.getInternalName(GeneratedMachine.class);
+
+    private static final String STRING_DESCRIPTOR = Type.getDescriptor(String.class);
+
+    private final CompiledProgram program;
+
+    private final Map<String, Integer> stateBlocks = new LinkedHashMap<>();
+
+    private final InstanceType<?>[] memoryTypes;
+
+    private BytecodeGenerator(CompiledProgram program) {
+        this.program = program;
+
+        memoryTypes = program.memoryKeys().stream()
+            .map(key -> {
+                var symbol = program.symbols().get(key);
+                return symbol instanceof VariableSymbol variableSymbol
+                    ? variableSymbol.variableType()
+                    : ((ConstantSymbol) symbol).constantType();
+            })
+            .toArray(InstanceType<?>[]::new);
+    }
+
+    static GeneratedClass generate(CompiledProgram program) {
+        var generator = new BytecodeGenerator(program);
+        return new GeneratedClass(generator.generateClass(), program.memoryKeys());
+    }
+
+    private byte[] generateClass() {
+        var instructions = program.instructions();
+
+        var blockStarts = new ArrayList<Integer>();
+        for (int i = 0; i < instructions.size(); i++) {
+            if (instructions.get(i) instanceof LabelInstruction labelInstruction && isStateLabel(labelInstruction.label())) {
+                stateBlocks.put(labelInstruction.label(), blockStarts.size());
+                blockStarts.add(i);
+            }
+        }
+
+        var classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                return "java/lang/Object";
+            }
+        };
+
+        classWriter.visit(V17, ACC_FINAL | ACC_SUPER, CLASS_NAME, null, SUPER_NAME, null);
+
+        for (int slot = 0; slot < memoryTypes.length; slot++) {
+            classWriter.visitField(ACC_PRIVATE, memoryField(slot), descriptor(memoryTypes[slot]), null, null).visitEnd();
+        }
+
+        generateConstructor(classWriter);
+
+        var firstBlockStart = blockStarts.isEmpty() ? instructions.size() : blockStarts.get(0);
+        generateCode(classWriter, "initialize", 0, firstBlockStart);
+
+        for (int block = 0; block < blockStarts.size(); block++) {
+            var end = block + 1 < blockStarts.size() ? blockStarts.get(block + 1) : instructions.size();
+            generateCode(classWriter, "block" + block, blockStarts.get(block) + 1, end);
+        }
+
+        generateExecute(classWriter, blockStarts.size());
+        generateMemory(classWriter);
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static String memoryField(int slot) {
+        return "m" + slot;
+    }
+
+    private boolean isStateLabel(String label) {
+        return program.symbols().get(label) instanceof StateSymbol;
+    }
+
+    private void generateConstructor(ClassWriter classWriter) {
+        var method = classWriter.visitMethod(0, "<init>", "()V", null, null);
+        method.visitCode();
+        method.visitVarInsn(ALOAD, 0);
+        method.visitMethodInsn(INVOKESPECIAL, SUPER_NAME, "<init>", "()V", false);
+        method.visitInsn(RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    private void generateExecute(ClassWriter classWriter, int blockCount) {
+        var method = classWriter.visitMethod(0, "execute", "(I)I", null, null);
+        method.visitCode();
+
+        var defaultLabel = new Label();
+
+        if (blockCount > 0) {
+            var blockLabels = new Label[blockCount];
+            for (int block = 0; block < blockCount; block++) {
+                blockLabels[block] = new Label();
+            }
+
+            method.visitVarInsn(ILOAD, 1);
+            method.visitTableSwitchInsn(0, blockCount - 1, defaultLabel, blockLabels);
+
+            for (int block = 0; block < blockCount; block++) {
+                method.visitLabel(blockLabels[block]);
+                method.visitVarInsn(ALOAD, 0);
+                method.visitMethodInsn(INVOKEVIRTUAL, CLASS_NAME, "block" + block, "()I", false);
+                method.visitInsn(IRETURN);
+            }
+        }
+
+        method.visitLabel(defaultLabel);
+        pushInt(method, GeneratedMachine.EXIT_SUCCESS);
+        method.visitInsn(IRETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    private void generateMemory(ClassWriter classWriter) {
+        var method = classWriter.visitMethod(0, "memory", "()[Ljava/lang/Object;", null, null);
+        method.visitCode();
+
+        pushInt(method, memoryTypes.length);
+        method.visitTypeInsn(ANEWARRAY, "java/lang/Object");
+
+        for (int slot = 0; slot < memoryTypes.length; slot++) {
+            var type = memoryTypes[slot];
+
+            method.visitInsn(DUP);
+            pushInt(method, slot);
+            method.visitVarInsn(ALOAD, 0);
+            method.visitFieldInsn(GETFIELD, CLASS_NAME, memoryField(slot), descriptor(type));
+
+            if (type == NumberInstanceType.INSTANCE) {
+                method.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "valueOf", "(D)Ljava/lang/Double;", false);
+            } else if (type == BooleanInstanceType.INSTANCE) {
+                method.visitMethodInsn(INVOKESTATIC, "java/lang/Boolean", "valueOf", "(Z)Ljava/lang/Boolean;", false);
+            }
+
+            method.visitInsn(AASTORE);
+        }
+
+        method.visitInsn(ARETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    private void generateCode(ClassWriter classWriter, String methodName, int start, int end) {
+        var method = classWriter.visitMethod(0, methodName, "()I", null, null);
+        method.visitCode();
+
+        var instructions = program.instructions().subList(start, end);
+
+        var labels = new HashMap<String, Label>();
+        for (var instruction : instructions) {
+            if (instruction instanceof LabelInstruction labelInstruction) {
+                labels.put(labelInstruction.label(), new Label());
+            }
+        }
+
+        var types = new ArrayDeque<InstanceType<?>>();
+
+        for (var instruction : instructions) {
+            generateInstruction(method, instruction, labels, types);
+        }
+
+        var nextBlock = end < program.instructions().size()
+            ? stateBlocks.get(((LabelInstruction) program.instructions().get(end)).label())
+            : GeneratedMachine.EXIT_SUCCESS;
+
+        pushInt(method, nextBlock);
+        method.visitInsn(IRETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    private void generateInstruction(
+        MethodVisitor method,
+        Instruction instruction,
+        Map<String, Label> labels,
+        Deque<InstanceType<?>> types)
+    {
+        if (instruction instanceof SourceLocationInstruction) {
+            return;
+        }
+
+        if (instruction instanceof LabelInstruction labelInstruction) {
+            method.visitLabel(labels.get(labelInstruction.label()));
+            return;
+        }
+
+        if (instruction instanceof PushInstruction pushInstruction) {
+            var value = pushInstruction.value();
+
+            if (value instanceof Boolean bool) {
+                method.visitInsn(bool ? ICONST_1 : ICONST_0);
+                types.push(BooleanInstanceType.INSTANCE);
+            } else if (value instanceof String string) {
+                method.visitLdcInsn(string);
+                types.push(StringInstanceType.INSTANCE);
+            } else {
+                method.visitLdcInsn(((Number) value).doubleValue());
+                types.push(NumberInstanceType.INSTANCE);
+            }
+            return;
+        }
+
+        if (instruction instanceof LoadInstruction loadInstruction) {
+            var slot = loadInstruction.slot();
+            var type = memoryTypes[slot];
+
+            method.visitVarInsn(ALOAD, 0);
+            method.visitFieldInsn(GETFIELD, CLASS_NAME, memoryField(slot), descriptor(type));
+            types.push(type);
+            return;
+        }
+
+        if (instruction instanceof StoreInstruction storeInstruction) {
+            var slot = storeInstruction.slot();
+            var type = types.pop();
+
+            method.visitVarInsn(ALOAD, 0);
+            if (type == NumberInstanceType.INSTANCE) {
+                method.visitInsn(DUP_X2);
+                method.visitInsn(POP);
+            } else {
+                method.visitInsn(SWAP);
+            }
+            method.visitFieldInsn(PUTFIELD, CLASS_NAME, memoryField(slot), descriptor(memoryTypes[slot]));
+            return;
+        }
+
+        if (instruction instanceof StateInstruction stateInstruction) {
+            method.visitVarInsn(ALOAD, 0);
+            method.visitLdcInsn(stateInstruction.state());
+            method.visitFieldInsn(PUTFIELD, SUPER_NAME, "state", STRING_DESCRIPTOR);
+            return;
+        }
+
+        if (instruction instanceof ExitInstruction exitInstruction) {
+            pushInt(method, exitInstruction.success() ? GeneratedMachine.EXIT_SUCCESS : GeneratedMachine.EXIT_FAILURE);
+            method.visitInsn(IRETURN);
+            return;
+        }
+
+        if (instruction instanceof JumpToInstruction jumpInstruction) {
+            generateJump(method, jumpInstruction.destination(), GOTO, labels);
+            return;
+        }
+
+        if (instruction instanceof JumpToIfInstruction jumpInstruction) {
+            types.pop();
+            generateJump(method, jumpInstruction.destination(), IFNE, labels);
+            return;
+        }
+
+        if (instruction instanceof JumpToIfNotInstruction jumpInstruction) {
+            types.pop();
+            generateJump(method, jumpInstruction.destination(), IFEQ, labels);
+            return;
+        }
+
+        if (instruction instanceof UnaryOperatorInstruction operatorInstruction) {
+            generateUnaryOperator(method, operatorInstruction.operator());
+            return;
+        }
+
+        if (instruction instanceof BinaryOperatorInstruction operatorInstruction) {
+            var rightType = types.pop();
+            var leftType = types.pop();
+            var operator = operatorInstruction.operator();
+
+            generateBinaryOperator(method, operator, leftType);
+
+            types.push(leftType.getOperator(operator, rightType).orElseThrow().returnType());
+            return;
+        }
+
+        throw new UnsupportedOperationException(
+            instruction.getClass().getName() + " instruction is not implemented"
+        );
+    }
+
+    private void generateJump(MethodVisitor method, String destination, int jumpOpcode, Map<String, Label> labels) {
+        var localLabel = labels.get(destination);
+        if (localLabel != null) {
+            method.visitJumpInsn(jumpOpcode, localLabel);
+            return;
+        }
+
+        var block = stateBlocks.get(destination);
+        if (block == null) {
+            if (jumpOpcode != GOTO) {
+                method.visitInsn(POP);
+            }
+            return;
+        }
+
+        var skip = new Label();
+        if (jumpOpcode != GOTO) {
+            method.visitJumpInsn(jumpOpcode == IFEQ ? IFNE : IFEQ, skip);
+        }
+
+        pushInt(method, block);
+        method.visitInsn(IRETURN);
+        method.visitLabel(skip);
+    }
+
+    private static void generateUnaryOperator(MethodVisitor method, UnaryOperator operator) {
+        switch (operator) {
+            case PLUS -> {
+            }
+            case MINUS -> method.visitInsn(DNEG);
+            case NOT -> {
+                method.visitInsn(ICONST_1);
+                method.visitInsn(IXOR);
+            }
+        }
+    }
+
+    private static void generateBinaryOperator(MethodVisitor method, BinaryOperator operator, InstanceType<?> type) {
+        if (type == StringInstanceType.INSTANCE) {
+            switch (operator) {
+                case PLUS -> method.visitMethodInsn(
+                    INVOKEVIRTUAL, "java/lang/String", "concat", "(Ljava/lang/String;)Ljava/lang/String;", false
+                );
+                case EQUALS, NOT_EQUALS -> {
+                    method.visitMethodInsn(
+                        INVOKESTATIC, "java/util/Objects", "equals", "(Ljava/lang/Object;Ljava/lang/Object;)Z", false
+                    );
+                    if (operator == BinaryOperator.NOT_EQUALS) {
+                        method.visitInsn(ICONST_1);
+                        method.visitInsn(IXOR);
+                    }
+                }
+                default -> throw new UnsupportedOperationException(operator + " is not defined for strings");
+            }
+            return;
+        }
+
+        if (type == BooleanInstanceType.INSTANCE) {
+            switch (operator) {
+                case AND -> method.visitInsn(IAND);
+                case OR -> method.visitInsn(IOR);
+                case EQUALS -> generateCondition(method, IF_ICMPNE);
+                case NOT_EQUALS -> generateCondition(method, IF_ICMPEQ);
+                default -> throw new UnsupportedOperationException(operator + " is not defined for booleans");
+            }
+            return;
+        }
+
+        switch (operator) {
+            case PLUS -> method.visitInsn(DADD);
+            case MINUS -> method.visitInsn(DSUB);
+            case MULTIPLY -> method.visitInsn(DMUL);
+            case DIVIDE -> method.visitMethodInsn(INVOKESTATIC, SUPER_NAME, "divide", "(DD)D", false);
+            case MODULO -> method.visitMethodInsn(INVOKESTATIC, SUPER_NAME, "modulo", "(DD)D", false);
+            case LESS -> generateNumberCondition(method, DCMPG, IFGE);
+            case LESS_OR_EQUAL -> generateNumberCondition(method, DCMPG, IFGT);
+            case GREATER -> generateNumberCondition(method, DCMPL, IFLE);
+            case GREATER_OR_EQUAL -> generateNumberCondition(method, DCMPL, IFLT);
+            case EQUALS -> generateNumberCondition(method, DCMPL, IFNE);
+            case NOT_EQUALS -> generateNumberCondition(method, DCMPL, IFEQ);
+            default -> throw new UnsupportedOperationException(operator + " is not defined for numbers");
+        }
+    }
+
+    private static void generateNumberCondition(MethodVisitor method, int compareOpcode, int jumpIfFalseOpcode) {
+        method.visitInsn(compareOpcode);
+        generateCondition(method, jumpIfFalseOpcode);
+    }
+
+    private static void generateCondition(MethodVisitor method, int jumpIfFalseOpcode) {
+        var falseLabel = new Label();
+        var endLabel = new Label();
+
+        method.visitJumpInsn(jumpIfFalseOpcode, falseLabel);
+        method.visitInsn(ICONST_1);
+        method.visitJumpInsn(GOTO, endLabel);
+        method.visitLabel(falseLabel);
+        method.visitInsn(ICONST_0);
+        method.visitLabel(endLabel);
+    }
+
+    private static void pushInt(MethodVisitor method, int value) {
+        if (value >= -1 && value <= 5) {
+            method.visitInsn(ICONST_0 + value);
+        } else {
+            method.visitLdcInsn(value);
+        }
+    }
+
+    private static String descriptor(InstanceType<?> type) {
+        if (type == NumberInstanceType.INSTANCE) {
+            return "D";
+        }
+
+        if (type == BooleanInstanceType.INSTANCE) {
+            return "Z";
+        }
+
+        if (type == StringInstanceType.INSTANCE) {
+            return STRING_DESCRIPTOR;
+        }
+
+        throw new UnsupportedOperationException(type.name() + " instances are not supported");
+    }
+}
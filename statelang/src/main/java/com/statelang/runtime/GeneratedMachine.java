@@ -0,0 +1,32 @@
+package com.statelang.runtime;
+
+abstract class GeneratedMachine {
+
+    static final int EXIT_SUCCESS = -1;
+
+    static final int EXIT_FAILURE = -2;
+
+    String state = null;
+
+    abstract int initialize();
+
+    abstract int execute(int block);
+
+    abstract Object[] memory();
+
+    static double divide(double dividend, double divisor) {
+        if (divisor == 0) {
+            throw new RuntimeError("zero division");
+        }
+
+        return dividend / divisor;
+    }
+
+    static double modulo(double dividend, double divisor) {
+        if (divisor == 0) {
+            throw new RuntimeError("zero division");
+        }
+
+        return dividend % divisor;
+    }
+}
@@ -0,0 +1,269 @@
+package com.statelang.runtime;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import com.statelang.compilation.CompiledProgram;
+import com.statelang.compilation.ProgramLinker;
+import com.statelang.model.BooleanInstanceType;
+import com.statelang.model.StringInstanceType;
+import com.statelang.tokenization.SourceLocation;
+
+public final class Interpreter {
+
+    private final ResolvedProgram program;
+
+    private final double[] numberStack;
+
+    private final String[] stringStack;
+
+    private int stackSize = 0;
+
+    private double[] numberMemory;
+
+    private String[] stringMemory;
+
+    private int nextInstruction = 0;
+
+    private long executedInstructions = 0;
+
+    private boolean started = false;
+
+    @Nullable
+    private Boolean exitStatus = null;
+
+    @Nullable
+    private RuntimeError error = null;
+
+    @Nullable
+    private String state = null;
+
+    private SourceLocation location = SourceLocation.FIRST_CHARACTER;
+
+    public Interpreter(CompiledProgram compiledProgram) {
+        program = ResolvedProgram.resolve(ProgramLinker.link(compiledProgram));
+
+        numberStack = new double[program.maxStackSize];
+        stringStack = new String[program.maxStackSize];
+
+        numberMemory = new double[program.memoryKeys.length];
+        stringMemory = new String[program.memoryKeys.length];
+    }
+
+    public Map<String, Object> memory() {
+        var memory = new LinkedHashMap<String, Object>();
+
+        for (int slot = 0; slot < program.memoryKeys.length; slot++) {
+            var type = program.memoryTypes[slot];
+
+            Object value;
+            if (type == StringInstanceType.INSTANCE) {
+                value = stringMemory[slot];
+            } else if (type == BooleanInstanceType.INSTANCE) {
+                value = numberMemory[slot] != 0;
+            } else {
+                value = numberMemory[slot];
+            }
+
+            memory.put(program.memoryKeys[slot], value);
+        }
+
+        return Collections.unmodifiableMap(memory);
+    }
+
+    public boolean started() {
+        return started;
+    }
+
+    public boolean running() {
+        return started && !exited();
+    }
+
+    public boolean exited() {
+        return exitStatus != null;
+    }
+
+    @Nullable
+    public Boolean exitStatus() {
+        return exitStatus;
+    }
+
+    @Nullable
+    public RuntimeError error() {
+        return error;
+    }
+
+    @Nullable
+    public String state() {
+        return state;
+    }
+
+    public SourceLocation location() {
+        return location;
+    }
+
+    public long executedInstructions() {
+        return executedInstructions;
+    }
+
+    public SourceLocation step() {
+        execute(Long.MAX_VALUE, true);
+        return location;
+    }
+
+    public long run(long maxInstructions) {
+        return execute(maxInstructions, false);
+    }
+
+    public void reset() {
+        nextInstruction = 0;
+        executedInstructions = 0;
+        stackSize = 0;
+        started = false;
+        exitStatus = null;
+        error = null;
+        state = null;
+        location = SourceLocation.FIRST_CHARACTER;
+        numberMemory = new double[program.memoryKeys.length];
+        stringMemory = new String[program.memoryKeys.length];
+    }
+
+    private long execute(long maxInstructions, boolean untilLocationChange) {
+        if (exited()) {
+            return 0;
+        }
+
+        started = true;
+
+        final var opcodes = program.opcodes;
+        final var operands = program.operands;
+        final var numbers = numberStack;
+        final var strings = stringStack;
+
+        var pc = nextInstruction;
+        var sp = stackSize;
+        var executed = 0L;
+
+        try {
+            while (executed < maxInstructions) {
+                if (pc >= opcodes.length) {
+                    exitStatus = true;
+                    break;
+                }
+
+                var operand = operands[pc];
+                executed++;
+
+                switch (opcodes[pc++]) {
+                    case Opcodes.PUSH_NUMBER -> {
+                        numbers[sp] = program.numberConstants[operand];
+                        strings[sp++] = null;
+                    }
+                    case Opcodes.PUSH_STRING -> strings[sp++] = program.stringConstants[operand];
+                    case Opcodes.LOAD -> {
+                        numbers[sp] = numberMemory[operand];
+                        strings[sp++] = stringMemory[operand];
+                    }
+                    case Opcodes.STORE -> {
+                        numberMemory[operand] = numbers[--sp];
+                        stringMemory[operand] = strings[sp];
+                    }
+                    case Opcodes.JUMP -> pc = operand;
+                    case Opcodes.JUMP_IF -> {
+                        if (numbers[--sp] != 0) {
+                            pc = operand;
+                        }
+                    }
+                    case Opcodes.JUMP_IF_NOT -> {
+                        if (numbers[--sp] == 0) {
+                            pc = operand;
+                        }
+                    }
+                    case Opcodes.STATE -> state = program.stringConstants[operand];
+                    case Opcodes.SOURCE_LOCATION -> {
+                        var newLocation = program.locations[operand];
+                        var changed = !newLocation.equals(location);
+                        location = newLocation;
+
+                        if (changed && untilLocationChange) {
+                            return executed;
+                        }
+                    }
+                    case Opcodes.EXIT -> {
+                        exitStatus = operand != 0;
+                        return executed;
+                    }
+                    case Opcodes.PLUS -> {
+                        sp--;
+                        if (strings[sp - 1] != null) {
+                            strings[sp - 1] = strings[sp - 1].concat(strings[sp]);
+                        } else {
+                            numbers[sp - 1] += numbers[sp];
+                        }
+                    }
+                    case Opcodes.MINUS -> numbers[sp - 2] -= numbers[--sp];
+                    case Opcodes.MULTIPLY -> numbers[sp - 2] *= numbers[--sp];
+                    case Opcodes.DIVIDE -> numbers[sp - 2] /= nonZero(numbers[--sp]);
+                    case Opcodes.MODULO -> numbers[sp - 2] %= nonZero(numbers[--sp]);
+                    case Opcodes.LESS -> numbers[sp - 2] = bool(numbers[sp - 2] < numbers[--sp]);
+                    case Opcodes.LESS_OR_EQUAL -> numbers[sp - 2] = bool(numbers[sp - 2] <= numbers[--sp]);
+                    case Opcodes.GREATER -> numbers[sp - 2] = bool(numbers[sp - 2] > numbers[--sp]);
+                    case Opcodes.GREATER_OR_EQUAL -> numbers[sp - 2] = bool(numbers[sp - 2] >= numbers[--sp]);
+                    case Opcodes.EQUALS -> {
+                        sp--;
+                        numbers[sp - 1] = bool(equal(numbers, strings, sp - 1, sp));
+                        strings[sp - 1] = null;
+                    }
+                    case Opcodes.NOT_EQUALS -> {
+                        sp--;
+                        numbers[sp - 1] = bool(!equal(numbers, strings, sp - 1, sp));
+                        strings[sp - 1] = null;
+                    }
+                    case Opcodes.AND -> {
+                        sp--;
+                        numbers[sp - 1] = bool(numbers[sp - 1] != 0 & numbers[sp] != 0);
+                    }
+                    case Opcodes.OR -> {
+                        sp--;
+                        numbers[sp - 1] = bool(numbers[sp - 1] != 0 | numbers[sp] != 0);
+                    }
+                    case Opcodes.UNARY_PLUS -> {
+                    }
+                    case Opcodes.UNARY_MINUS -> numbers[sp - 1] = -numbers[sp - 1];
+                    case Opcodes.NOT -> numbers[sp - 1] = bool(numbers[sp - 1] == 0);
+                    default -> throw new IllegalStateException("unknown opcode " + opcodes[pc - 1]);
+                }
+            }
+        } catch (RuntimeError runtimeError) {
+            error = runtimeError;
+            exitStatus = false;
+        } finally {
+            nextInstruction = pc;
+            stackSize = sp;
+            executedInstructions += executed;
+        }
+
+        return executed;
+    }
+
+    private static double bool(boolean value) {
+        return value ? 1 : 0;
+    }
+
+    private static double nonZero(double divisor) {
+        if (divisor == 0) {
+            throw new RuntimeError("zero division");
+        }
+
+        return divisor;
+    }
+
+    private static boolean equal(double[] numbers, String[] strings, int left, int right) {
+        return strings[left] != null
+            ? strings[left].equals(strings[right])
+            : numbers[left] == numbers[right];
+    }
+}
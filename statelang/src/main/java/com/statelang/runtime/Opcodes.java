@@ -0,0 +1,37 @@
+package com.statelang.runtime;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class Opcodes {
+
+    static final int PUSH_NUMBER = 0;
+    static final int PUSH_STRING = 1;
+    static final int LOAD = 2;
+    static final int STORE = 3;
+    static final int JUMP = 4;
+    static final int JUMP_IF = 5;
+    static final int JUMP_IF_NOT = 6;
+    static final int STATE = 7;
+    static final int SOURCE_LOCATION = 8;
+    static final int EXIT = 9;
+
+    static final int PLUS = 10;
+    static final int MINUS = 11;
+    static final int MULTIPLY = 12;
+    static final int DIVIDE = 13;
+    static final int MODULO = 14;
+    static final int LESS = 15;
+    static final int LESS_OR_EQUAL = 16;
+    static final int GREATER = 17;
+    static final int GREATER_OR_EQUAL = 18;
+    static final int EQUALS = 19;
+    static final int NOT_EQUALS = 20;
+    static final int AND = 21;
+    static final int OR = 22;
+
+    static final int UNARY_PLUS = 23;
+    static final int UNARY_MINUS = 24;
+    static final int NOT = 25;
+}
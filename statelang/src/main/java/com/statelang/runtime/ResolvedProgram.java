@@ -0,0 +1,209 @@
+package com.statelang.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.statelang.compilation.LinkedProgram;
+import com.statelang.compilation.instruction.*;
+import com.statelang.compilation.symbol.ConstantSymbol;
+import com.statelang.compilation.symbol.VariableSymbol;
+import com.statelang.model.InstanceType;
+import com.statelang.model.UnknownInstanceType;
+import com.statelang.tokenization.SourceLocation;
+
+final class ResolvedProgram {
+
+    final int[] opcodes;
+
+    final int[] operands;
+
+    final double[] numberConstants;
+
+    final String[] stringConstants;
+
+    final SourceLocation[] locations;
+
+    final String[] memoryKeys;
+
+    final InstanceType<?>[] memoryTypes;
+
+    final int maxStackSize;
+
+    private ResolvedProgram(Resolver resolver) {
+        opcodes = resolver.opcodes.stream().mapToInt(Integer::intValue).toArray();
+        operands = resolver.operands.stream().mapToInt(Integer::intValue).toArray();
+        numberConstants = resolver.numberConstants.stream().mapToDouble(Double::doubleValue).toArray();
+        stringConstants = resolver.stringConstants.toArray(String[]::new);
+        locations = resolver.locations.toArray(SourceLocation[]::new);
+        memoryKeys = resolver.program.memoryKeys().toArray(String[]::new);
+        memoryTypes = resolver.program.memoryKeys().stream()
+            .map(resolver::memoryType)
+            .toArray(InstanceType<?>[]::new);
+        maxStackSize = resolver.maxStackSize;
+    }
+
+    static ResolvedProgram resolve(LinkedProgram program) {
+        return new ResolvedProgram(new Resolver(program));
+    }
+
+    private static final class Resolver {
+
+        private final LinkedProgram program;
+
+        private final List<Integer> opcodes = new ArrayList<>();
+
+        private final List<Integer> operands = new ArrayList<>();
+
+        private final List<Double> numberConstants = new ArrayList<>();
+
+        private final List<String> stringConstants = new ArrayList<>();
+
+        private final List<SourceLocation> locations = new ArrayList<>();
+
+        private int stackSize = 0;
+
+        private int maxStackSize = 0;
+
+        Resolver(LinkedProgram program) {
+            this.program = program;
+
+            for (int index = 0; index < program.size(); index++) {
+                resolveLocations(index);
+                resolve(index, program.instructions().get(index));
+            }
+
+            resolveLocations(program.size());
+        }
+
+        private void resolveLocations(int index) {
+            for (int location = program.locationsStart(index); location < program.locationsEnd(index); location++) {
+                emit(Opcodes.SOURCE_LOCATION, locations.size(), 0);
+                locations.add(program.location(location));
+            }
+        }
+
+        private void resolve(int index, Instruction instruction) {
+
+            if (instruction instanceof PushInstruction pushInstruction) {
+                var value = pushInstruction.value();
+
+                if (value instanceof String string) {
+                    emit(Opcodes.PUSH_STRING, stringConstants.size(), 1);
+                    stringConstants.add(string);
+                } else {
+                    var number = value instanceof Boolean bool
+                        ? (bool ? 1d : 0d)
+                        : ((Number) value).doubleValue();
+
+                    emit(Opcodes.PUSH_NUMBER, numberConstants.size(), 1);
+                    numberConstants.add(number);
+                }
+                return;
+            }
+
+            if (instruction instanceof LoadInstruction loadInstruction) {
+                emit(Opcodes.LOAD, loadInstruction.slot(), 1);
+                return;
+            }
+
+            if (instruction instanceof StoreInstruction storeInstruction) {
+                emit(Opcodes.STORE, storeInstruction.slot(), -1);
+                return;
+            }
+
+            if (instruction instanceof JumpToInstruction) {
+                emit(Opcodes.JUMP, jumpTarget(index), 0);
+                return;
+            }
+
+            if (instruction instanceof JumpToIfInstruction) {
+                emit(Opcodes.JUMP_IF, jumpTarget(index), -1);
+                return;
+            }
+
+            if (instruction instanceof JumpToIfNotInstruction) {
+                emit(Opcodes.JUMP_IF_NOT, jumpTarget(index), -1);
+                return;
+            }
+
+            if (instruction instanceof StateInstruction stateInstruction) {
+                emit(Opcodes.STATE, stringConstants.size(), 0);
+                stringConstants.add(stateInstruction.state());
+                return;
+            }
+
+            if (instruction instanceof ExitInstruction exitInstruction) {
+                emit(Opcodes.EXIT, exitInstruction.success() ? 1 : 0, 0);
+                return;
+            }
+
+            if (instruction instanceof BinaryOperatorInstruction operatorInstruction) {
+                emit(binaryOpcode(operatorInstruction), 0, -1);
+                return;
+            }
+
+            if (instruction instanceof UnaryOperatorInstruction operatorInstruction) {
+                emit(unaryOpcode(operatorInstruction), 0, 0);
+                return;
+            }
+
+            throw new UnsupportedOperationException(
+                instruction.getClass().getName() + " instruction is not implemented"
+            );
+        }
+
+        private void emit(int opcode, int operand, int stackDelta) {
+            opcodes.add(opcode);
+            operands.add(operand);
+
+            stackSize += stackDelta;
+            maxStackSize = Math.max(maxStackSize, stackSize);
+        }
+
+        // source locations are resolved in front of their instruction
+        private int jumpTarget(int index) {
+            var target = program.jumpTarget(index);
+            return target + program.locationsStart(target);
+        }
+
+        private InstanceType<?> memoryType(String memoryKey) {
+            var symbol = program.symbols().get(memoryKey);
+
+            if (symbol instanceof VariableSymbol variableSymbol) {
+                return variableSymbol.variableType();
+            }
+
+            if (symbol instanceof ConstantSymbol constantSymbol) {
+                return constantSymbol.constantType();
+            }
+
+            return UnknownInstanceType.INSTANCE;
+        }
+
+        private static int binaryOpcode(BinaryOperatorInstruction instruction) {
+            return switch (instruction.operator()) {
+                case PLUS -> Opcodes.PLUS;
+                case MINUS -> Opcodes.MINUS;
+                case MULTIPLY -> Opcodes.MULTIPLY;
+                case DIVIDE -> Opcodes.DIVIDE;
+                case MODULO -> Opcodes.MODULO;
+                case LESS -> Opcodes.LESS;
+                case LESS_OR_EQUAL -> Opcodes.LESS_OR_EQUAL;
+                case GREATER -> Opcodes.GREATER;
+                case GREATER_OR_EQUAL -> Opcodes.GREATER_OR_EQUAL;
+                case EQUALS -> Opcodes.EQUALS;
+                case NOT_EQUALS -> Opcodes.NOT_EQUALS;
+                case AND -> Opcodes.AND;
+                case OR -> Opcodes.OR;
+            };
+        }
+
+        private static int unaryOpcode(UnaryOperatorInstruction instruction) {
+            return switch (instruction.operator()) {
+                case PLUS -> Opcodes.UNARY_PLUS;
+                case MINUS -> Opcodes.UNARY_MINUS;
+                case NOT -> Opcodes.NOT;
+            };
+        }
+    }
+}
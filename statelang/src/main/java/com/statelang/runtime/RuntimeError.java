@@ -0,0 +1,10 @@
+package com.statelang.runtime;
+
+public final class RuntimeError extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RuntimeError(String message) {
+        super(message);
+    }
+}
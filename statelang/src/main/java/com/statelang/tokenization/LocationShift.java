@@ -0,0 +1,28 @@
+package com.statelang.tokenization;
+
+public record LocationShift(SourceLocation oldEnd, SourceLocation newEnd) {
+
+	public static LocationShift of(TextEdit edit) {
+		return new LocationShift(edit.end(), edit.replacementEnd());
+	}
+
+	public boolean isIdentityFrom(SourceLocation location) {
+		return oldEnd.equals(newEnd) || (oldEnd.line() == newEnd.line() && location.line() > oldEnd.line());
+	}
+
+	public SourceLocation apply(SourceLocation location) {
+		if (location.line() != oldEnd.line()) {
+			return location.shifted(newEnd.line() - oldEnd.line(), 0);
+		}
+
+		return new SourceLocation(newEnd.line(), newEnd.column() + location.column() - oldEnd.column());
+	}
+
+	public SourceSelection apply(SourceSelection selection) {
+		return new SourceSelection(apply(selection.start()), apply(selection.end()));
+	}
+
+	public Token apply(Token token) {
+		return new Token(apply(token.selection()), token.kind(), token.text());
+	}
+}
@@ -3,6 +3,9 @@ package com.statelang.tokenization;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
 
 public final class SourceText {
 
@@ -10,6 +13,8 @@ public final class SourceText {
 
 	private final String text;
 
+	private volatile int[] lineStarts = null;
+
 	private SourceText(String sourceDescriptor, String text) {
 		this.sourceDescriptor = sourceDescriptor;
 		this.text = text;
@@ -31,4 +36,65 @@ public final class SourceText {
 	public String text() {
 		return text;
 	}
+
+	public SourceLocation locationOf(int offset) {
+		Preconditions.checkElementIndex(offset, text.length() + 1, "offset");
+
+		var lineStarts = lineStarts();
+		var line = Arrays.binarySearch(lineStarts, offset);
+		if (line < 0) {
+			line = -line - 2;
+		}
+
+		return new SourceLocation(line + 1, offset - lineStarts[line] + 1);
+	}
+
+	public SourceSelection selectionOf(int firstOffset, int lastOffset) {
+		var start = locationOf(firstOffset);
+		return lastOffset == firstOffset ? start.toCharSelection() : new SourceSelection(start, locationOf(lastOffset));
+	}
+
+	public int offsetOf(SourceLocation location) {
+		var lineStarts = lineStarts();
+
+		Preconditions.checkArgument(location.line() <= lineStarts.length, "line out of bounds");
+
+		var lineStart = lineStarts[location.line() - 1];
+		var lineEnd = location.line() < lineStarts.length
+			? lineStarts[location.line()] - 1
+			: text.length();
+
+		var offset = lineStart + location.column() - 1;
+		Preconditions.checkArgument(offset <= lineEnd, "column out of bounds");
+
+		return offset;
+	}
+
+	private int[] lineStarts() {
+		var lineStarts = this.lineStarts;
+
+		if (lineStarts == null) {
+			lineStarts = computeLineStarts(text);
+			this.lineStarts = lineStarts;
+		}
+
+		return lineStarts;
+	}
+
+	private static int[] computeLineStarts(String text) {
+		var lineStarts = new int[16];
+		var lineCount = 1;
+
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) == '\n') {
+				if (lineCount == lineStarts.length) {
+					lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+				}
+
+				lineStarts[lineCount++] = i + 1;
+			}
+		}
+
+		return Arrays.copyOf(lineStarts, lineCount);
+	}
 }
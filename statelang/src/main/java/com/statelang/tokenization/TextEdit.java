@@ -0,0 +1,21 @@
+package com.statelang.tokenization;
+
+import com.google.common.base.Preconditions;
+
+public record TextEdit(SourceLocation start, SourceLocation end, String replacement) {
+
+	public TextEdit {
+		Preconditions.checkNotNull(start, "start is null");
+		Preconditions.checkNotNull(end, "end is null");
+		Preconditions.checkNotNull(replacement, "replacement is null");
+		Preconditions.checkArgument(start.isBeforeOrAt(end), "start is after end");
+	}
+
+	public static TextEdit insert(SourceLocation location, String text) {
+		return new TextEdit(location, location, text);
+	}
+
+	public SourceLocation replacementEnd() {
+		return start.movedTrough(replacement);
+	}
+}
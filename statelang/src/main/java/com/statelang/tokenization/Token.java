@@ -1,56 +1,57 @@
 package com.statelang.tokenization;
 
+import java.util.List;
 import java.util.regex.Pattern;
 
+import javax.annotation.Nullable;
+
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor
 public final class Token {
 
 	public static enum Kind {
 		WHITESPACE("whitespace", "\\s+", true),
 		COMMENT("comment", "#.*\\n?", true),
 
-		SEMICOLON("';'", ";"),
-		COMMA("','", ","),
-		DOT("'.'", "\\."),
-		AT("'@'", "@"),
+		SEMICOLON("';'", ";", ";"),
+		COMMA("','", ",", ","),
+		DOT("'.'", "\\.", "."),
+		AT("'@'", "@", "@"),
 
-		OPEN_PARENTHESIS("'('", "\\("),
-		CLOSE_PARENTHESIS("')'", "\\)"),
-		OPEN_BRACKET("'['", "\\["),
-		CLOSE_BRACKET("']'", "\\]"),
-		OPEN_CURLY_BRACE("'{'", "\\{"),
-		CLOSE_CURLY_BRACE("'}'", "\\}"),
+		OPEN_PARENTHESIS("'('", "\\(", "("),
+		CLOSE_PARENTHESIS("')'", "\\)", ")"),
+		OPEN_BRACKET("'['", "\\[", "["),
+		CLOSE_BRACKET("']'", "\\]", "]"),
+		OPEN_CURLY_BRACE("'{'", "\\{", "{"),
+		CLOSE_CURLY_BRACE("'}'", "\\}", "}"),
 
 		LITERAL_NUMBER("number literal", "\\d+(\\.\\d+)?|\\.\\d+"),
-		LITERAL_BOOLEAN("boolean literal", "\\b(true|false)\\b"),
+		LITERAL_BOOLEAN("boolean literal", "\\b(true|false)\\b", "true", "false"),
 		LITERAL_STRING("string literal", "\".*?\""),
 
-		KEYWORD_STATE("'state'", "\\bstate\\b"),
-		KEYWORD_ASSERT("'assert'", "\\bassert\\b"),
-		KEYWORD_WHEN("'when'", "\\bwhen\\b"),
-		KEYWORD_LET("'let'", "\\blet\\b"),
-		KEYWORD_CONST("'const'", "\\bconst\\b"),
-		KEYWORD_IF("'if'", "\\bif\\b"),
-		KEYWORD_ELSE("'else'", "\\belse\\b"),
-
-		OPERATOR_ASSIGN("':='", ":="),
-		OPERATOR_NOT_EQUALS("'!='", "!="),
-		OPERATOR_EQUALS("'='", "="),
-		OPERATOR_LESS_OR_EQUAL("'<='", "<="),
-		OPERATOR_LESS("'<'", "<"),
-		OPERATOR_GREATER_OR_EQUAL("'>='", ">="),
-		OPERATOR_GREATER("'>'", ">"),
-		OPERATOR_PLUS("'+'", "\\+"),
-		OPERATOR_MINUS("'-'", "\\-"),
-		OPERATOR_MULTIPLY("'*'", "\\*"),
-		OPERATOR_DIVIDE("'/'", "\\/"),
-		OPERATOR_MODULO("'%'", "\\%"),
-		OPERATOR_AND("'and'", "\\band\\b"),
-		OPERATOR_OR("'or'", "\\bor\\b"),
-		OPERATOR_NOT("'not'", "\\bnot\\b"),
+		KEYWORD_STATE("'state'", "\\bstate\\b", "state"),
+		KEYWORD_ASSERT("'assert'", "\\bassert\\b", "assert"),
+		KEYWORD_WHEN("'when'", "\\bwhen\\b", "when"),
+		KEYWORD_LET("'let'", "\\blet\\b", "let"),
+		KEYWORD_CONST("'const'", "\\bconst\\b", "const"),
+		KEYWORD_IF("'if'", "\\bif\\b", "if"),
+		KEYWORD_ELSE("'else'", "\\belse\\b", "else"),
+
+		OPERATOR_ASSIGN("':='", ":=", ":="),
+		OPERATOR_NOT_EQUALS("'!='", "!=", "!="),
+		OPERATOR_EQUALS("'='", "=", "="),
+		OPERATOR_LESS_OR_EQUAL("'<='", "<=", "<="),
+		OPERATOR_LESS("'<'", "<", "<"),
+		OPERATOR_GREATER_OR_EQUAL("'>='", ">=", ">="),
+		OPERATOR_GREATER("'>'", ">", ">"),
+		OPERATOR_PLUS("'+'", "\\+", "+"),
+		OPERATOR_MINUS("'-'", "\\-", "-"),
+		OPERATOR_MULTIPLY("'*'", "\\*", "*"),
+		OPERATOR_DIVIDE("'/'", "\\/", "/"),
+		OPERATOR_MODULO("'%'", "\\%", "%"),
+		OPERATOR_AND("'and'", "\\band\\b", "and"),
+		OPERATOR_OR("'or'", "\\bor\\b", "or"),
+		OPERATOR_NOT("'not'", "\\bnot\\b", "not"),
 
 		IDENTIFIER("identifier", "\\b[a-zA-Z_][a-zA-Z0-9_]*\\b");
 
@@ -63,14 +64,21 @@ public final class Token {
 		@Getter
 		private final Pattern regex;
 
+		@Getter
+		private final List<String> words;
+
 		private Kind(String description, String regex, boolean ignored) {
 			this.ignored = ignored;
 			this.description = description;
 			this.regex = Pattern.compile(regex);
+			this.words = List.of();
 		}
 
-		private Kind(String description, String regex) {
-			this(description, regex, false);
+		private Kind(String description, String regex, String... words) {
+			this.ignored = false;
+			this.description = description;
+			this.regex = Pattern.compile(regex);
+			this.words = List.of(words);
 		}
 
 		@Override
@@ -79,8 +87,8 @@ public final class Token {
 		}
 	}
 
-	@Getter
-	private final SourceSelection selection;
+	@Nullable
+	private SourceSelection selection;
 
 	@Getter
 	private final Kind kind;
@@ -88,9 +96,39 @@ public final class Token {
 	@Getter
 	private final String text;
 
+	@Nullable
+	@Getter
+	private final SourceText sourceText;
+
+	@Getter
+	private final int offset;
+
+	public Token(SourceText sourceText, int offset, Kind kind, String text) {
+		this.sourceText = sourceText;
+		this.offset = offset;
+		this.kind = kind;
+		this.text = text;
+	}
+
+	public Token(SourceSelection selection, Kind kind, String text) {
+		this.selection = selection;
+		this.kind = kind;
+		this.text = text;
+		this.sourceText = null;
+		this.offset = -1;
+	}
+
+	public SourceSelection selection() {
+		if (selection == null && sourceText != null) {
+			selection = sourceText.selectionOf(offset, offset + text.length() - 1);
+		}
+
+		return selection;
+	}
+
 	@Override
 	public String toString() {
 		final var oneLineValue = text().replace("\n", "\\n");
-		return "Token(" + kind + " '" + oneLineValue + "' at {" + selection + "})";
+		return "Token(" + kind + " '" + oneLineValue + "' at {" + selection() + "})";
 	}
 }
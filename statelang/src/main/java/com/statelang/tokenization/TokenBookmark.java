@@ -7,41 +7,17 @@ public final class TokenBookmark implements AutoCloseable {
     private final TokenReader reader;
 
     @Getter
-    private final SourceLocation location;
+    private final int depth;
 
     @Getter
-    private final LinkedNodeList<Token>.Node tokenNode;
-
-    @Getter
-    private final boolean atEnd;
-
-    private final LinkedNodeList<TokenBookmark>.Node bookmarkNode;
-
-    private final LinkedNodeList<TokenBookmark> bookmarkList;
+    private final int generation;
 
     private boolean discarded = false;
 
-    TokenBookmark(
-        TokenReader reader,
-        LinkedNodeList<Token>.Node tokenNode,
-        LinkedNodeList<TokenBookmark> bookmarkList) {
+    TokenBookmark(TokenReader reader, int depth, int generation) {
         this.reader = reader;
-        this.location = reader.location();
-        this.tokenNode = tokenNode;
-        atEnd = reader.atEnd();
-
-        this.bookmarkList = bookmarkList;
-
-        var nextBookmark = bookmarkList.first();
-        var bookmarkLocation = reader.location();
-
-        while (nextBookmark != null && nextBookmark.value.location.isBefore(bookmarkLocation)) {
-            nextBookmark = nextBookmark.next();
-        }
-
-        this.bookmarkNode = nextBookmark != null
-            ? bookmarkList.addBefore(nextBookmark, this)
-            : bookmarkList.addLast(this);
+        this.depth = depth;
+        this.generation = generation;
     }
 
     public void discard() {
@@ -49,9 +25,9 @@ public final class TokenBookmark implements AutoCloseable {
             return;
         }
 
-        discarded = true;
+        reader.discard(this);
 
-        bookmarkList.remove(bookmarkNode);
+        discarded = true;
     }
 
     @Override
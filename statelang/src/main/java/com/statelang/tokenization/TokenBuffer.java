@@ -0,0 +1,156 @@
+package com.statelang.tokenization;
+
+import java.nio.CharBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.google.common.base.Preconditions;
+import com.statelang.diagnostics.Reporter;
+
+public final class TokenBuffer {
+
+	private static final Token.Kind[] kindValues = Token.Kind.values();
+
+	private final SourceText sourceText;
+
+	private final byte[] kinds;
+
+	private final int[] starts;
+
+	private final int[] lengths;
+
+	private final int size;
+
+	private TokenBuffer(SourceText sourceText, byte[] kinds, int[] starts, int[] lengths, int size) {
+		this.sourceText = sourceText;
+		this.kinds = kinds;
+		this.starts = starts;
+		this.lengths = lengths;
+		this.size = size;
+	}
+
+	public static TokenBuffer tokenize(SourceText sourceText, Reporter reporter) {
+		var builder = new Builder();
+		builder.addTokens(new Tokenizer(sourceText, reporter));
+
+		return builder.build(sourceText);
+	}
+
+	public SourceText sourceText() {
+		return sourceText;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public Token.Kind kind(int index) {
+		Preconditions.checkElementIndex(index, size);
+		return kindValues[kinds[index]];
+	}
+
+	public int start(int index) {
+		Preconditions.checkElementIndex(index, size);
+		return starts[index];
+	}
+
+	public int length(int index) {
+		Preconditions.checkElementIndex(index, size);
+		return lengths[index];
+	}
+
+	public int end(int index) {
+		return start(index) + length(index);
+	}
+
+	public CharSequence text(int index) {
+		var start = start(index);
+		return CharBuffer.wrap(sourceText.text(), start, start + lengths[index]);
+	}
+
+	public SourceSelection selection(int index) {
+		var start = start(index);
+		return sourceText.selectionOf(start, start + lengths[index] - 1);
+	}
+
+	public Token token(int index) {
+		var kind = kind(index);
+		var start = starts[index];
+
+		var fixedText = Tokenizer.fixedText(kind);
+		var text = fixedText != null ? fixedText : sourceText.text().substring(start, start + lengths[index]);
+
+		return new Token(sourceText, start, kind, text);
+	}
+
+	public List<Token> tokens() {
+		return new TokenList();
+	}
+
+	int indexOfStart(int offset) {
+		return Arrays.binarySearch(starts, 0, size, offset);
+	}
+
+	private final class TokenList extends AbstractList<Token> implements RandomAccess {
+
+		@Override
+		public Token get(int index) {
+			return token(index);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+
+	static final class Builder {
+
+		private byte[] kinds = new byte[64];
+
+		private int[] starts = new int[64];
+
+		private int[] lengths = new int[64];
+
+		private int size = 0;
+
+		int size() {
+			return size;
+		}
+
+		void add(Token.Kind kind, int start, int length) {
+			if (size == starts.length) {
+				kinds = Arrays.copyOf(kinds, size * 2);
+				starts = Arrays.copyOf(starts, size * 2);
+				lengths = Arrays.copyOf(lengths, size * 2);
+			}
+
+			kinds[size] = (byte) kind.ordinal();
+			starts[size] = start;
+			lengths[size] = length;
+			size++;
+		}
+
+		void addRange(TokenBuffer buffer, int from, int to, int offsetDelta) {
+			for (int i = from; i < to; i++) {
+				add(kindValues[buffer.kinds[i]], buffer.starts[i] + offsetDelta, buffer.lengths[i]);
+			}
+		}
+
+		void addTokens(Tokenizer tokenizer) {
+			while (tokenizer.hasNext()) {
+				var kind = tokenizer.nextKind();
+
+				if (kind != null && !kind.ignored()) {
+					add(kind, tokenizer.tokenStart(), tokenizer.index() - tokenizer.tokenStart());
+				}
+			}
+		}
+
+		TokenBuffer build(SourceText sourceText) {
+			return new TokenBuffer(sourceText, kinds, starts, lengths, size);
+		}
+	}
+}
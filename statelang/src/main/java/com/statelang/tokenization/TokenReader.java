@@ -1,47 +1,79 @@
 package com.statelang.tokenization;
 
-import java.util.Iterator;
-import java.util.Optional;
+import java.util.Arrays;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Iterators;
 import com.statelang.diagnostics.Reporter;
 
 public final class TokenReader {
 
-    private final Iterator<Token> tokenizer;
+    private final TokenBuffer buffer;
 
-    private LinkedNodeList<Token> cachedTokens = new LinkedNodeList<>();
+    private int index;
 
-    private LinkedNodeList<Token>.Node currentToken = null;
+    private int furthestIndex;
 
-    private LinkedNodeList<TokenBookmark> bookmarks = new LinkedNodeList<>();
+    private Token currentToken = null;
 
-    private boolean atEnd = false;
+    private int[] bookmarkPositions = new int[16];
 
-    private TokenReader(Tokenizer tokenizer) {
-        this.tokenizer = Iterators.filter(tokenizer, token -> token != null && !token.kind().ignored());
+    private int[] bookmarkGenerations = new int[16];
 
-        tryAdvance();
+    private int bookmarkCount = 0;
+
+    private int nextBookmarkGeneration = 0;
+
+    private boolean atEnd;
+
+    private TokenReader(TokenBuffer buffer, int position) {
+        Preconditions.checkPositionIndex(position, buffer.size());
+
+        this.buffer = buffer;
+
+        atEnd = position == buffer.size();
+        index = atEnd ? position - 1 : position;
+        furthestIndex = index;
     }
 
     public static TokenReader startReading(SourceText sourceText, Reporter reporter) {
-        return new TokenReader(new Tokenizer(sourceText, reporter));
+        return new TokenReader(TokenBuffer.tokenize(sourceText, reporter), 0);
+    }
+
+    public static TokenReader startReading(TokenBuffer buffer, int position) {
+        return new TokenReader(buffer, position);
     }
 
     public boolean atEnd() {
         return atEnd;
     }
 
+    public int position() {
+        return atEnd ? buffer.size() : index;
+    }
+
+    public int furthestPosition() {
+        return furthestIndex;
+    }
+
+    public Token.Kind currentKind() {
+        return index >= 0 ? buffer.kind(index) : null;
+    }
+
     public Token currentToken() {
-        return currentToken != null
-            ? currentToken.value
-            : null;
+        if (index < 0) {
+            return null;
+        }
+
+        if (currentToken == null) {
+            currentToken = buffer.token(index);
+        }
+
+        return currentToken;
     }
 
     public SourceSelection selection() {
-        return currentToken != null
-            ? currentToken.value.selection()
+        return index >= 0
+            ? currentToken().selection()
             : SourceSelection.FIRST_CHARACTER;
     }
 
@@ -49,20 +81,32 @@ public final class TokenReader {
         return selection().start();
     }
 
+    /**
+     * Index of the token {@link #selection()} refers to. Unlike {@link #position()}
+     * it stays at the last token at the end, and it is -1 without tokens.
+     */
+    public int tokenIndex() {
+        return index;
+    }
+
+    public SourceSelection selectionAt(int tokenIndex) {
+        Preconditions.checkArgument(tokenIndex >= -1 && tokenIndex < buffer.size());
+
+        if (tokenIndex < 0) {
+            return SourceSelection.FIRST_CHARACTER;
+        }
+
+        return tokenIndex == index ? currentToken().selection() : buffer.selection(tokenIndex);
+    }
+
     public boolean tryAdvance() {
         if (atEnd) {
             return false;
         }
 
-        if (currentToken != null && currentToken.next() != null) {
-            currentToken = currentToken.next();
-            return true;
-        }
-
-        if (tokenizer.hasNext()) {
-            var nextToken = tokenizer.next();
-            currentToken = cachedTokens.addLast(nextToken);
-            clearUnreachableTokens();
+        if (index + 1 < buffer.size()) {
+            moveTo(index + 1);
+            furthestIndex = Math.max(furthestIndex, index);
             return true;
         }
 
@@ -71,9 +115,19 @@ public final class TokenReader {
     }
 
     public TokenBookmark createBookmark() {
-        Preconditions.checkState(currentToken != null, "cannot create bookmark at end");
+        Preconditions.checkState(index >= 0, "cannot create bookmark at end");
+
+        if (bookmarkCount == bookmarkPositions.length) {
+            bookmarkPositions = Arrays.copyOf(bookmarkPositions, bookmarkCount * 2);
+            bookmarkGenerations = Arrays.copyOf(bookmarkGenerations, bookmarkCount * 2);
+        }
 
-        return new TokenBookmark(this, currentToken, bookmarks);
+        // slots are reused after a discard, so the generation tells stale bookmarks from live ones
+        var generation = nextBookmarkGeneration++;
+        bookmarkPositions[bookmarkCount] = position();
+        bookmarkGenerations[bookmarkCount] = generation;
+
+        return new TokenBookmark(this, bookmarkCount++, generation);
     }
 
     public void backtrackTo(TokenBookmark bookmark) {
@@ -82,19 +136,35 @@ public final class TokenReader {
             "provided TokenBookmark was created by another TokenReader"
         );
 
-        currentToken = bookmark.tokenNode();
-        atEnd = bookmark.atEnd();
+        Preconditions.checkState(
+            bookmark.depth() < bookmarkCount && bookmarkGenerations[bookmark.depth()] == bookmark.generation(),
+            "provided TokenBookmark was discarded"
+        );
+
+        seek(bookmarkPositions[bookmark.depth()]);
     }
 
-    private void clearUnreachableTokens() {
-        var tokenNode = cachedTokens.first();
-        var firstMarkedToken = Optional.ofNullable(bookmarks.first())
-            .map(mark -> mark.value.tokenNode())
-            .orElse(null);
+    public void seek(int position) {
+        Preconditions.checkPositionIndex(position, buffer.size());
+
+        atEnd = position == buffer.size();
+        moveTo(atEnd ? position - 1 : position);
+        furthestIndex = Math.max(furthestIndex, index);
+    }
+
+    void discard(TokenBookmark bookmark) {
+        Preconditions.checkState(
+            bookmark.depth() == bookmarkCount - 1,
+            "TokenBookmarks must be discarded in reverse order of creation"
+        );
+
+        bookmarkCount--;
+    }
 
-        while (tokenNode != null && tokenNode != currentToken && tokenNode != firstMarkedToken) {
-            tokenNode = tokenNode.next();
-            cachedTokens.removeFirst();
+    private void moveTo(int index) {
+        if (this.index != index) {
+            this.index = index;
+            currentToken = null;
         }
     }
 }
@@ -0,0 +1,158 @@
+package com.statelang.tokenization;
+
+import java.util.List;
+
+import com.google.common.base.Preconditions;
+import com.statelang.diagnostics.Report;
+import com.statelang.diagnostics.Reporter;
+
+public final class TokenStream {
+
+	public record Edit(
+		TokenStream tokens,
+		LocationShift shift,
+		int firstRelexedToken,
+		int firstReusedToken,
+		int reusedTokenDelta
+	) {
+		public int previousTokenIndex(int tokenIndex) {
+			Preconditions.checkArgument(tokenIndex >= firstReusedToken, "token was not reused");
+			return tokenIndex + reusedTokenDelta;
+		}
+	}
+
+	private final TokenBuffer buffer;
+
+	private final List<Report> reports;
+
+	private TokenStream(TokenBuffer buffer, List<Report> reports) {
+		this.buffer = buffer;
+		this.reports = List.copyOf(reports);
+	}
+
+	public static TokenStream tokenize(SourceText sourceText) {
+		var reporter = new Reporter();
+		return new TokenStream(TokenBuffer.tokenize(sourceText, reporter), reporter.reports());
+	}
+
+	public SourceText sourceText() {
+		return buffer.sourceText();
+	}
+
+	public TokenBuffer buffer() {
+		return buffer;
+	}
+
+	public List<Token> tokens() {
+		return buffer.tokens();
+	}
+
+	public List<Report> reports() {
+		return reports;
+	}
+
+	public Edit edit(TextEdit textEdit) {
+		var sourceText = buffer.sourceText();
+		var text = sourceText.text();
+		var replacement = textEdit.replacement();
+
+		var editStart = sourceText.offsetOf(textEdit.start());
+		var editEnd = sourceText.offsetOf(textEdit.end());
+		var replacementEnd = editStart + replacement.length();
+		var offsetDelta = replacementEnd - editEnd;
+
+		var editedText = SourceText.fromString(
+			sourceText.sourceDescriptor(),
+			text.substring(0, editStart) + replacement + text.substring(editEnd)
+		);
+
+		var shift = LocationShift.of(textEdit);
+
+		// rejected string literals look ahead up to the end of their line
+		var keptTokens = countTokensBefore(textEdit.start().line(), editStart - 1);
+
+		var relexStart = 0;
+		var relexStartLocation = SourceLocation.FIRST_CHARACTER;
+		if (keptTokens > 0) {
+			relexStart = buffer.end(keptTokens - 1);
+			relexStartLocation = sourceText.locationOf(relexStart);
+		}
+
+		var builder = new TokenBuffer.Builder();
+		builder.addRange(buffer, 0, keptTokens, 0);
+
+		var reporter = new Reporter();
+		for (var report : reports) {
+			if (report.location().isBefore(relexStartLocation)) {
+				reporter.report(report);
+			}
+		}
+
+		var firstReusedToken = -1;
+		var reusedTokenDelta = 0;
+
+		var tokenizer = new Tokenizer(editedText, reporter, relexStart);
+		while (tokenizer.hasNext()) {
+			var kind = tokenizer.nextKind();
+
+			if (kind == null || kind.ignored()) {
+				continue;
+			}
+
+			var start = tokenizer.tokenStart();
+			var previousIndex = start > replacementEnd
+				? buffer.indexOfStart(start - offsetDelta)
+				: -1;
+
+			if (previousIndex >= 0) {
+				firstReusedToken = builder.size();
+				reusedTokenDelta = previousIndex - firstReusedToken;
+				break;
+			}
+
+			builder.add(kind, start, tokenizer.index() - start);
+		}
+
+		if (firstReusedToken < 0) {
+			var editedTokens = new TokenStream(builder.build(editedText), reporter.reports());
+			return new Edit(editedTokens, shift, keptTokens, builder.size(), 0);
+		}
+
+		var previousIndex = firstReusedToken + reusedTokenDelta;
+		var reuseLocation = sourceText.locationOf(buffer.start(previousIndex));
+		var identityShift = shift.isIdentityFrom(reuseLocation);
+
+		builder.addRange(buffer, previousIndex, buffer.size(), offsetDelta);
+
+		for (var report : reports) {
+			if (report.location().isAfterOrAt(reuseLocation)) {
+				reporter.report(identityShift ? report : shift(report, shift));
+			}
+		}
+
+		var editedTokens = new TokenStream(builder.build(editedText), reporter.reports());
+		return new Edit(editedTokens, shift, keptTokens, firstReusedToken, reusedTokenDelta);
+	}
+
+	private static Report shift(Report report, LocationShift shift) {
+		return report.toBuilder().selection(shift.apply(report.selection())).build();
+	}
+
+	private int countTokensBefore(int line, int offset) {
+		var sourceText = buffer.sourceText();
+		int low = 0, high = buffer.size();
+
+		while (low < high) {
+			var middle = (low + high) >>> 1;
+			var end = buffer.end(middle);
+
+			if (end < offset && sourceText.locationOf(end - 1).line() < line) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+}
@@ -1,6 +1,8 @@
 package com.statelang.tokenization;
 
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 import com.statelang.diagnostics.Reporter;
@@ -8,60 +10,283 @@ import com.statelang.diagnostics.Report;
 
 final class Tokenizer implements Iterator<Token> {
 
+	private static final Map<String, Token.Kind> reservedWords = new HashMap<>();
+
+	private static final String[] fixedTokenTexts = new String[Token.Kind.values().length];
+
+	static {
+		for (var kind : Token.Kind.values()) {
+			for (var word : kind.words()) {
+				reservedWords.put(word, kind);
+			}
+
+			if (kind.words().size() == 1) {
+				fixedTokenTexts[kind.ordinal()] = kind.words().get(0);
+			}
+		}
+	}
+
+	private static final int maxReservedWordLength = reservedWords.keySet().stream()
+		.mapToInt(String::length)
+		.max()
+		.orElse(0);
+
 	private final SourceText sourceText;
 
+	private final String text;
+
 	private final Reporter reporter;
 
 	private int index = 0;
 
-	private SourceLocation location = SourceLocation.FIRST_CHARACTER;
+	private int tokenStart = 0;
+
+	private int scanEnd = 0;
 
 	Tokenizer(SourceText sourceText, Reporter reporter) {
 		this.sourceText = sourceText;
+		this.text = sourceText.text();
 		this.reporter = reporter;
 	}
 
+	Tokenizer(SourceText sourceText, Reporter reporter, int startIndex) {
+		this(sourceText, reporter);
+		this.index = startIndex;
+	}
+
+	int index() {
+		return index;
+	}
+
+	int tokenStart() {
+		return tokenStart;
+	}
+
+	static String fixedText(Token.Kind kind) {
+		return fixedTokenTexts[kind.ordinal()];
+	}
+
 	@Override
 	public boolean hasNext() {
-		return index < sourceText.text().length();
+		return index < text.length();
 	}
 
 	@Override
 	public Token next() {
+		var tokenKind = nextKind();
+
+		if (tokenKind == null) {
+			return null;
+		}
+
+		var fixedText = fixedText(tokenKind);
+		var tokenText = fixedText != null ? fixedText : text.substring(tokenStart, index);
+
+		return new Token(sourceText, tokenStart, tokenKind, tokenText);
+	}
+
+	Token.Kind nextKind() {
 		if (!hasNext()) {
 			throw new NoSuchElementException();
 		}
 
-		for (var tokenKind : Token.Kind.values()) {
-			var matcher = tokenKind.regex().matcher(sourceText.text());
+		tokenStart = index;
+		var tokenKind = scanTokenKind();
 
-			if (!matcher.find(index) || matcher.start() != index) {
-				continue;
-			}
-
-			var tokenLength = matcher.end() - matcher.start();
-			var tokenText = sourceText.text().substring(index, index + tokenLength);
-			var tokenSelection = new SourceSelection(
-				location, location.movedTrough(tokenText.substring(0, tokenText.length() - 1))
+		if (tokenKind == null) {
+			reporter.report(
+				Report.builder()
+					.selection(sourceText.locationOf(index).toCharSelection())
+					.kind(Report.Kind.INVALID_TOKEN)
 			);
-			var token = new Token(tokenSelection, tokenKind, tokenText);
 
-			index += tokenLength;
+			index++;
+			return null;
+		}
+
+		index = scanEnd;
+		return tokenKind;
+	}
+
+	private Token.Kind scanTokenKind() {
+		var start = index;
+		var ch = text.charAt(start);
+
+		switch (ch) {
+			case ' ', '\t', '\n', '\u000B', '\f', '\r':
+				scanEnd = skipWhile(start + 1, Tokenizer::isWhitespace);
+				return Token.Kind.WHITESPACE;
+
+			case '#':
+				scanEnd = skipWhile(start + 1, c -> !isLineTerminator(c));
+				if (scanEnd < text.length() && text.charAt(scanEnd) == '\n') {
+					scanEnd++;
+				}
+				return Token.Kind.COMMENT;
 
-			location = location.movedTrough(token.text());
+			case ';':
+				return single(start, Token.Kind.SEMICOLON);
+			case ',':
+				return single(start, Token.Kind.COMMA);
+			case '.':
+				return single(start, Token.Kind.DOT);
+			case '@':
+				return single(start, Token.Kind.AT);
+			case '(':
+				return single(start, Token.Kind.OPEN_PARENTHESIS);
+			case ')':
+				return single(start, Token.Kind.CLOSE_PARENTHESIS);
+			case '[':
+				return single(start, Token.Kind.OPEN_BRACKET);
+			case ']':
+				return single(start, Token.Kind.CLOSE_BRACKET);
+			case '{':
+				return single(start, Token.Kind.OPEN_CURLY_BRACE);
+			case '}':
+				return single(start, Token.Kind.CLOSE_CURLY_BRACE);
+			case '+':
+				return single(start, Token.Kind.OPERATOR_PLUS);
+			case '-':
+				return single(start, Token.Kind.OPERATOR_MINUS);
+			case '*':
+				return single(start, Token.Kind.OPERATOR_MULTIPLY);
+			case '/':
+				return single(start, Token.Kind.OPERATOR_DIVIDE);
+			case '%':
+				return single(start, Token.Kind.OPERATOR_MODULO);
+			case '=':
+				return single(start, Token.Kind.OPERATOR_EQUALS);
 
-			return token;
+			case ':':
+				return followedBy(start, '=') ? pair(start, Token.Kind.OPERATOR_ASSIGN) : null;
+			case '!':
+				return followedBy(start, '=') ? pair(start, Token.Kind.OPERATOR_NOT_EQUALS) : null;
+			case '<':
+				return followedBy(start, '=')
+					? pair(start, Token.Kind.OPERATOR_LESS_OR_EQUAL)
+					: single(start, Token.Kind.OPERATOR_LESS);
+			case '>':
+				return followedBy(start, '=')
+					? pair(start, Token.Kind.OPERATOR_GREATER_OR_EQUAL)
+					: single(start, Token.Kind.OPERATOR_GREATER);
+
+			case '"':
+				return scanString(start);
+
+			default:
+				break;
 		}
 
-		reporter.report(
-			Report.builder()
-				.selection(location.toCharSelection())
-				.kind(Report.Kind.INVALID_TOKEN)
-		);
+		if (isDigit(ch)) {
+			return scanNumber(start);
+		}
 
-		location = location.movedTrough(Character.toString(sourceText.text().charAt(index)));
-		index++;
+		if (isWordStart(ch)) {
+			return scanWord(start);
+		}
 
 		return null;
 	}
+
+	private Token.Kind scanNumber(int start) {
+		scanEnd = skipWhile(start + 1, Tokenizer::isDigit);
+
+		var hasFraction = scanEnd + 1 < text.length()
+			&& text.charAt(scanEnd) == '.'
+			&& isDigit(text.charAt(scanEnd + 1));
+
+		if (hasFraction) {
+			scanEnd = skipWhile(scanEnd + 2, Tokenizer::isDigit);
+		}
+
+		return Token.Kind.LITERAL_NUMBER;
+	}
+
+	private Token.Kind scanString(int start) {
+		for (int i = start + 1; i < text.length(); i++) {
+			var ch = text.charAt(i);
+
+			if (ch == '"') {
+				scanEnd = i + 1;
+				return Token.Kind.LITERAL_STRING;
+			}
+
+			if (isLineTerminator(ch)) {
+				break;
+			}
+		}
+
+		return null;
+	}
+
+	private Token.Kind scanWord(int start) {
+		if (start > 0 && isBoundaryWordChar(text.charAt(start - 1))) {
+			return null;
+		}
+
+		scanEnd = skipWhile(start + 1, Tokenizer::isWordPart);
+
+		if (scanEnd < text.length() && isBoundaryWordChar(text.charAt(scanEnd))) {
+			return null;
+		}
+
+		if (scanEnd - start > maxReservedWordLength) {
+			return Token.Kind.IDENTIFIER;
+		}
+
+		return reservedWords.getOrDefault(text.substring(start, scanEnd), Token.Kind.IDENTIFIER);
+	}
+
+	private Token.Kind single(int start, Token.Kind kind) {
+		return fixed(start, 1, kind);
+	}
+
+	private Token.Kind pair(int start, Token.Kind kind) {
+		return fixed(start, 2, kind);
+	}
+
+	private Token.Kind fixed(int start, int length, Token.Kind kind) {
+		scanEnd = start + length;
+		return kind;
+	}
+
+	private boolean followedBy(int position, char expected) {
+		return position + 1 < text.length() && text.charAt(position + 1) == expected;
+	}
+
+	private interface CharPredicate {
+		boolean test(char ch);
+	}
+
+	private int skipWhile(int position, CharPredicate predicate) {
+		while (position < text.length() && predicate.test(text.charAt(position))) {
+			position++;
+		}
+
+		return position;
+	}
+
+	private static boolean isWhitespace(char ch) {
+		return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+	}
+
+	private static boolean isLineTerminator(char ch) {
+		return ch == '\n' || ch == '\r' || ch == '\u0085' || ch == '\u2028' || ch == '\u2029';
+	}
+
+	private static boolean isDigit(char ch) {
+		return ch >= '0' && ch <= '9';
+	}
+
+	private static boolean isWordStart(char ch) {
+		return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || ch == '_';
+	}
+
+	private static boolean isWordPart(char ch) {
+		return isWordStart(ch) || isDigit(ch);
+	}
+
+	private static boolean isBoundaryWordChar(char ch) {
+		return ch == '_' || Character.isLetterOrDigit(ch);
+	}
 }
@@ -0,0 +1,193 @@
+package com.statelang.compilation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.statelang.diagnostics.Reporter;
+import com.statelang.runtime.Interpreter;
+import com.statelang.tokenization.SourceText;
+
+class CompiledProgramFormatTests {
+
+    private static CompiledProgram compile(String text) {
+        var reporter = new Reporter();
+        var program = ProgramCompiler.compile(reporter, SourceText.fromString("test", text));
+
+        assertFalse(reporter.hasErrors());
+        return program.orElseThrow();
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        var program = compile("""
+            state { COUNTING, STOPPED }
+
+            const max := 10;
+            const greeting := "hello";
+            let count := 0;
+            let done := false;
+
+            when COUNTING {
+                assert count < max;
+                count := -count + 2 * count + 1;
+
+                if count = max and not done {
+                    done := true;
+                    state := STOPPED;
+                } else {
+                    count := count % 100;
+                }
+            }
+            """);
+
+        var bytes = CompiledProgramWriter.toBytes(program);
+        var decoded = CompiledProgramReader.fromBytes(bytes);
+
+        assertThat(decoded)
+            .usingRecursiveComparison()
+            .isEqualTo(program);
+
+        assertArrayEquals(bytes, CompiledProgramWriter.toBytes(decoded));
+
+        var interpreter = new Interpreter(decoded);
+        interpreter.run(Long.MAX_VALUE);
+
+        assertThat(interpreter.state()).isEqualTo("STOPPED");
+        assertThat(interpreter.memory()).containsEntry("count", 10.0);
+    }
+
+    @Test
+    void sharesConstantsAndEncodesLocationDeltas() {
+        var text = new StringBuilder("state { A, B }\nlet counter := 0;\nwhen A {\n");
+        for (int i = 0; i < 1000; i++) {
+            text.append("    counter := counter + 1;\n");
+        }
+        text.append("}\n");
+
+        var program = compile(text.toString());
+        var bytes = CompiledProgramWriter.toBytes(program);
+
+        assertThat(program.instructions()).hasSizeGreaterThan(4000);
+        assertThat(bytes.length).isLessThan(program.instructions().size() * 3);
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        var bytes = CompiledProgramWriter.toBytes(compile("state { A, B }"));
+
+        var badMagic = bytes.clone();
+        badMagic[0] = 0;
+        assertThatThrownBy(() -> CompiledProgramReader.fromBytes(badMagic))
+            .isInstanceOf(IOException.class);
+
+        var badVersion = bytes.clone();
+        badVersion[4] = 99;
+        assertThatThrownBy(() -> CompiledProgramReader.fromBytes(badVersion))
+            .isInstanceOf(IOException.class);
+
+        var truncated = Arrays.copyOf(bytes, bytes.length - 1);
+        assertThatThrownBy(() -> CompiledProgramReader.fromBytes(truncated))
+            .isInstanceOf(IOException.class);
+    }
+
+    private static final String SMALL_PROGRAM = """
+        state { [label "first"] A, B }
+        let x := 0;
+        when A {
+            x := x + 1;
+            if x > 2 { state := B; }
+        }
+        """;
+
+    @Test
+    void rejectsTruncatedInput() {
+        var bytes = CompiledProgramWriter.toBytes(compile(SMALL_PROGRAM));
+
+        for (int length = 0; length < bytes.length; length++) {
+            var truncated = Arrays.copyOf(bytes, length);
+            assertThatThrownBy(() -> CompiledProgramReader.fromBytes(truncated))
+                .isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void rejectsCorruptedInputWithIOException() {
+        var bytes = CompiledProgramWriter.toBytes(compile(SMALL_PROGRAM));
+
+        for (int index = 0; index < bytes.length; index++) {
+            for (var value : new int[] { 0x00, 0x01, 0x7f, 0x80, 0xff, bytes[index] ^ 0x02 }) {
+                var corrupted = bytes.clone();
+                corrupted[index] = (byte) value;
+
+                try {
+                    CompiledProgramReader.fromBytes(corrupted);
+                } catch (IOException exception) {
+                    // rejected
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsCountsBeyondInput() throws IOException {
+        for (var count : new int[] { Integer.MAX_VALUE, -1, 2 }) {
+            var bytes = new ByteArrayOutputStream();
+            var output = new DataOutputStream(bytes);
+
+            output.writeInt(BinaryProgramFormat.MAGIC);
+            BinaryProgramFormat.writeVarInt(output, BinaryProgramFormat.VERSION);
+            BinaryProgramFormat.writeVarInt(output, 1);
+            BinaryProgramFormat.writeVarInt(output, count);
+            output.writeByte('A');
+
+            assertThatThrownBy(() -> CompiledProgramReader.fromBytes(bytes.toByteArray()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("exceeds the remaining input");
+        }
+    }
+
+    @Test
+    void rejectsUndefinedTransitionTarget() throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        var output = new DataOutputStream(bytes);
+
+        output.writeInt(BinaryProgramFormat.MAGIC);
+        BinaryProgramFormat.writeVarInt(output, BinaryProgramFormat.VERSION);
+
+        BinaryProgramFormat.writeVarInt(output, 3);
+        for (var constant : new String[] { "A", "B", "C" }) {
+            BinaryProgramFormat.writeVarInt(output, 1);
+            output.writeBytes(constant);
+        }
+
+        // states A and B without attributes, initial state A
+        BinaryProgramFormat.writeVarInt(output, 2);
+        BinaryProgramFormat.writeVarInt(output, 0);
+        BinaryProgramFormat.writeVarInt(output, 0);
+        BinaryProgramFormat.writeVarInt(output, 1);
+        BinaryProgramFormat.writeVarInt(output, 0);
+        BinaryProgramFormat.writeVarInt(output, 0);
+
+        // transition A -> C
+        BinaryProgramFormat.writeVarInt(output, 1);
+        BinaryProgramFormat.writeVarInt(output, 0);
+        BinaryProgramFormat.writeVarInt(output, 1);
+        BinaryProgramFormat.writeVarInt(output, 2);
+
+        BinaryProgramFormat.writeVarInt(output, 0);
+        BinaryProgramFormat.writeVarInt(output, 0);
+
+        assertThatThrownBy(() -> CompiledProgramReader.fromBytes(bytes.toByteArray()))
+            .isInstanceOf(IOException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+}
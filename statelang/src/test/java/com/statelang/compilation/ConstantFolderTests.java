@@ -0,0 +1,181 @@
+package com.statelang.compilation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.statelang.compilation.instruction.BinaryOperatorInstruction;
+import com.statelang.compilation.instruction.ExitInstruction;
+import com.statelang.compilation.instruction.JumpToIfInstruction;
+import com.statelang.compilation.instruction.JumpToIfNotInstruction;
+import com.statelang.compilation.instruction.LoadInstruction;
+import com.statelang.compilation.instruction.PushInstruction;
+import com.statelang.compilation.instruction.SourceLocationInstruction;
+import com.statelang.diagnostics.Report;
+import com.statelang.diagnostics.Reporter;
+import com.statelang.runtime.Interpreter;
+import com.statelang.tokenization.SourceText;
+
+class ConstantFolderTests {
+
+    private static CompiledProgram compile(String text) {
+        var reporter = new Reporter();
+        var program = ProgramCompiler.compile(reporter, SourceText.fromString("test", text));
+
+        assertFalse(reporter.hasErrors());
+        return program.orElseThrow();
+    }
+
+    @Test
+    void foldsConstantExpressions() {
+        var program = compile("""
+            state { A, B }
+            const MAX := 10;
+            const NAME := "max" + "imum";
+            let x := 0;
+            let s := "";
+            when A {
+                x := MAX * 2 + 1;
+                s := NAME + "!";
+                state := B;
+            }
+            """);
+
+        assertThat(program.instructions())
+            .noneMatch(instruction -> instruction instanceof LoadInstruction)
+            .noneMatch(instruction -> instruction instanceof BinaryOperatorInstruction)
+            .anyMatch(instruction -> instruction instanceof PushInstruction push && push.value().equals(21.0))
+            .anyMatch(instruction -> instruction instanceof PushInstruction push && push.value().equals("maximum!"));
+
+        var interpreter = new Interpreter(program);
+        interpreter.run(Long.MAX_VALUE);
+
+        assertEquals(21.0, interpreter.memory().get("x"));
+        assertEquals("maximum", interpreter.memory().get("NAME"));
+    }
+
+    @Test
+    void keepsInexactAndFailingOperations() {
+        var program = compile("""
+            state { A, B }
+            let x := 0;
+            when A {
+                x := 0.1 + 0.2;
+                x := 1 / 3;
+                x := 1 / 0;
+            }
+            """);
+
+        assertThat(program.instructions())
+            .filteredOn(instruction -> instruction instanceof BinaryOperatorInstruction)
+            .hasSize(3);
+
+        var interpreter = new Interpreter(program);
+        interpreter.run(Long.MAX_VALUE);
+
+        assertNotNull(interpreter.error());
+    }
+
+    @Test
+    void dropsConstantConditions() {
+        var program = compile("""
+            state { A, B }
+            const LIMIT := 5;
+            let x := 0;
+            when A {
+                assert LIMIT > 0;
+                if LIMIT * 2 = 10 {
+                    x := x + 1;
+                } else {
+                    x := x - 1;
+                }
+                if x = LIMIT {
+                    state := B;
+                }
+            }
+            """);
+
+        assertThat(program.instructions())
+            .noneMatch(instruction -> instruction == ExitInstruction.FAILURE)
+            .noneMatch(instruction -> instruction instanceof JumpToIfInstruction)
+            .filteredOn(instruction -> instruction instanceof JumpToIfNotInstruction)
+            .hasSize(1);
+
+        var interpreter = new Interpreter(program);
+        interpreter.run(Long.MAX_VALUE);
+
+        assertEquals("B", interpreter.state());
+        assertEquals(5.0, interpreter.memory().get("x"));
+    }
+
+    @Test
+    void failsConstantlyFalseAssertion() {
+        var interpreter = new Interpreter(compile("""
+            state { A, B }
+            const DEBUG := false;
+            when A {
+                assert DEBUG;
+            }
+            """));
+
+        interpreter.run(Long.MAX_VALUE);
+
+        assertEquals(Boolean.FALSE, interpreter.exitStatus());
+    }
+
+    @Test
+    void checksDeadBranches() {
+        var reporter = new Reporter();
+        var program = ProgramCompiler.compile(reporter, SourceText.fromString("test", """
+            state { A, B }
+            let x := 0;
+            when A {
+                if false {
+                    x := "a";
+                }
+            }
+            """));
+
+        assertThat(program).isEmpty();
+        assertThat(reporter.reports())
+            .extracting(Report::kind)
+            .containsExactly(Report.Kind.TYPE_ERROR);
+    }
+
+    @Test
+    void dropsTransitionsOfDeadBranches() {
+        var program = compile("""
+            state { A, B, C }
+            const DEBUG := false;
+            when A {
+                assert not DEBUG;
+                if DEBUG {
+                    state := C;
+                } else {
+                    state := B;
+                }
+            }
+            when B {
+                if true {
+                    state := A;
+                }
+            }
+            """);
+
+        assertEquals(
+            Map.of("A", Set.of("B"), "B", Set.of("A")),
+            program.stateMachine().transitions()
+        );
+
+        assertThat(program.instructions())
+            .filteredOn(instruction -> instruction instanceof SourceLocationInstruction)
+            .extracting(instruction -> ((SourceLocationInstruction) instruction).location().line())
+            .contains(4, 5, 13);
+    }
+}
@@ -3,13 +3,24 @@ package com.statelang.compilation;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.common.base.Preconditions;
+import com.statelang.compilation.instruction.LoadInstruction;
+import com.statelang.compilation.instruction.StoreInstruction;
 import com.statelang.compilation.symbol.*;
 import com.statelang.diagnostics.Report;
 import com.statelang.diagnostics.Reporter;
@@ -55,7 +66,9 @@ class ProgramCompilerTests {
                     .symbol(new StateSymbol("COUNTING"))
                     .symbol(new StateSymbol("STOPPED"))
                     .symbol(new ConstantSymbol("max", NumberInstanceType.INSTANCE))
+                    .memoryKey("max")
                     .symbol(new VariableSymbol("count", NumberInstanceType.INSTANCE))
+                    .memoryKey("count")
                     .stateMachine(
                         StateMachine.builder()
                             .state("COUNTING")
@@ -69,6 +82,51 @@ class ProgramCompilerTests {
             );
     }
 
+    @Test
+    void memorySlots() {
+        var reporter = new Reporter();
+
+        var compiledProgram = ProgramCompiler.compile(reporter, SourceText.fromString("test", """
+            state { A, B }
+
+            let x := 1;
+            const y := x + 1;
+            let z := y;
+
+            when A {
+                z := z + x;
+                x := z;
+                state := B;
+            }
+            """)).orElseThrow();
+
+        assertEquals(0, reporter.reports().size());
+        assertThat(compiledProgram.memoryKeys()).containsExactly("x", "y", "z");
+
+        var slots = compiledProgram.instructions().stream()
+            .mapMulti((instruction, consumer) -> {
+                if (instruction instanceof LoadInstruction loadInstruction) {
+                    consumer.accept("load " + compiledProgram.memoryKeys().get(loadInstruction.slot()));
+                } else if (instruction instanceof StoreInstruction storeInstruction) {
+                    consumer.accept("store " + compiledProgram.memoryKeys().get(storeInstruction.slot()));
+                }
+            })
+            .toList();
+
+        assertThat(slots).containsExactly(
+            "store x",
+            "load x",
+            "store y",
+            "load y",
+            "store z",
+            "load z",
+            "load x",
+            "store z",
+            "load z",
+            "store x"
+        );
+    }
+
     @Test
     void unreachableState() {
         var reporter = new Reporter();
@@ -237,4 +295,156 @@ class ProgramCompilerTests {
                 )
             );
     }
+
+    private static String generateProgram(int stateCount, boolean withErrors) {
+        var text = new StringBuilder("state {\n");
+        for (int state = 0; state < stateCount; state++) {
+            text.append("    S").append(state).append(",\n");
+        }
+        text.append("}\n");
+        text.append("let counter := 0;\n");
+
+        for (int state = 0; state < stateCount; state++) {
+            text.append("when S").append(state).append(" {\n");
+            text.append("    counter := counter + ").append(state).append(";\n");
+            text.append("    if counter > ").append(state * 3).append(" {\n");
+            text.append("        state := S").append((state * 7 + 1) % stateCount).append(";\n");
+            text.append("    }\n");
+
+            if (withErrors && state % 10 == 0) {
+                text.append("    counter := \"text\";\n");
+                text.append("    state := UNDEFINED;\n");
+                text.append("}\nwhen S").append(state).append(" {\n");
+            }
+
+            text.append("}\n");
+        }
+
+        return text.toString();
+    }
+
+    @Test
+    void parallelCompilation() {
+        var pool = new ForkJoinPool(4);
+
+        try {
+            for (var withErrors : new boolean[] { false, true }) {
+                var sourceText = SourceText.fromString("test", generateProgram(300, withErrors));
+
+                var sequentialReporter = new Reporter();
+                var sequentialProgram = ProgramCompiler.compile(sequentialReporter, sourceText);
+
+                var reportingThreads = new HashSet<Thread>();
+                var parallelReporter = new Reporter(report -> reportingThreads.add(Thread.currentThread()));
+                var parallelProgram = ProgramCompiler.compile(parallelReporter, sourceText, pool);
+
+                assertEquals(!withErrors, sequentialProgram.isPresent());
+
+                assertThat(parallelProgram)
+                    .usingRecursiveComparison()
+                    .isEqualTo(sequentialProgram);
+
+                assertThat(parallelReporter.reports())
+                    .usingRecursiveFieldByFieldElementComparator()
+                    .isEqualTo(sequentialReporter.reports());
+
+                // reports are passed on by the compiling thread, so listeners need no locking
+                assertThat(reportingThreads).isSubsetOf(Thread.currentThread());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static String compileOperatorsInParallel(int stateCount) {
+        var text = new StringBuilder("state {\n");
+        for (int state = 0; state < stateCount; state++) {
+            text.append("    S").append(state).append(",\n");
+        }
+        text.append("}\n");
+        text.append("let counter := 0;\n");
+        text.append("let flag := false;\n");
+        text.append("let label := \"\";\n");
+
+        for (int state = 0; state < stateCount; state++) {
+            text.append("when S").append(state).append(" {\n");
+            text.append("    flag := not flag or counter >= ").append(state).append(" and label != \"x\";\n");
+            text.append("    label := label + \"").append(state).append("\";\n");
+            text.append("    counter := -counter * 2 - ").append(state).append(" % 3;\n");
+            text.append("    state := S").append((state + 1) % stateCount).append(";\n");
+            text.append("}\n");
+        }
+
+        var pool = new ForkJoinPool(4);
+
+        try {
+            var reporter = new Reporter();
+            var program = ProgramCompiler.compile(reporter, SourceText.fromString("test", text.toString()), pool);
+
+            return reporter.reports() + " " + program.map(compiledProgram -> compiledProgram.instructions().size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelCompilationWithColdOperatorLibrary() throws Exception {
+        var expectedResult = compileOperatorsInParallel(200);
+        assertThat(expectedResult).startsWith("[] Optional[");
+
+        var classPath = Stream.of(ProgramCompilerTests.class, ProgramCompiler.class, Preconditions.class)
+            .map(type -> type.getProtectionDomain().getCodeSource().getLocation())
+            .toArray(URL[]::new);
+
+        for (int attempt = 0; attempt < 20; attempt++) {
+            // a fresh class loader has its own InstanceType singletons with unbuilt operator libraries
+            try (var classLoader = new URLClassLoader(classPath, ClassLoader.getPlatformClassLoader())) {
+                var compile = classLoader
+                    .loadClass(ProgramCompilerTests.class.getName())
+                    .getDeclaredMethod("compileOperatorsInParallel", int.class);
+
+                compile.setAccessible(true);
+                assertEquals(expectedResult, compile.invoke(null, 200));
+            }
+        }
+    }
+
+    @Test
+    void concurrentCompilations() throws Exception {
+        var sourceTexts = IntStream.range(0, 2000)
+            .mapToObj(i -> SourceText.fromString("test" + i, generateProgram(2 + i % 20, i % 3 == 0)))
+            .toList();
+
+        var expectedResults = sourceTexts.stream().map(ProgramCompilerTests::compileToBytes).toList();
+
+        var threadCount = Math.max(4, Runtime.getRuntime().availableProcessors());
+        var executor = Executors.newFixedThreadPool(threadCount);
+
+        try {
+            var tasks = sourceTexts.stream()
+                .map(sourceText -> (Callable<List<Object>>) () -> compileToBytes(sourceText))
+                .toList();
+
+            var futures = executor.invokeAll(tasks);
+
+            for (int i = 0; i < futures.size(); i++) {
+                var result = futures.get(i).get();
+                var expectedResult = expectedResults.get(i);
+
+                assertThat(result.get(0)).isEqualTo(expectedResult.get(0));
+                assertThat(result.get(1))
+                    .usingRecursiveComparison()
+                    .isEqualTo(expectedResult.get(1));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<Object> compileToBytes(SourceText sourceText) {
+        var reporter = new Reporter();
+        var program = ProgramCompiler.compile(reporter, sourceText);
+
+        return Arrays.asList(program.map(CompiledProgramWriter::toBytes).orElse(null), reporter.reports());
+    }
 }
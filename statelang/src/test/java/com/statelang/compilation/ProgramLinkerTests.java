@@ -0,0 +1,134 @@
+package com.statelang.compilation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.statelang.compilation.instruction.ExitInstruction;
+import com.statelang.compilation.instruction.JumpToIfInstruction;
+import com.statelang.compilation.instruction.JumpToIfNotInstruction;
+import com.statelang.compilation.instruction.JumpToInstruction;
+import com.statelang.compilation.instruction.LabelInstruction;
+import com.statelang.compilation.instruction.SourceLocationInstruction;
+import com.statelang.diagnostics.Reporter;
+import com.statelang.tokenization.SourceLocation;
+import com.statelang.tokenization.SourceText;
+
+class ProgramLinkerTests {
+
+    private static CompiledProgram compile(String text) {
+        var reporter = new Reporter();
+        var program = ProgramCompiler.compile(reporter, SourceText.fromString("test", text));
+
+        assertFalse(reporter.hasErrors());
+        return program.orElseThrow();
+    }
+
+    @Test
+    void link() {
+        var program = compile("""
+            state { COUNTING, STOPPED }
+
+            const max := 10;
+            let count := 0;
+
+            when COUNTING {
+                assert count < max;
+                count := count + 1;
+
+                if count = max {
+                    state := STOPPED;
+                } else {
+                    count := count % 100;
+                }
+            }
+            """);
+
+        var linkedProgram = ProgramLinker.link(program);
+        var instructions = program.instructions();
+
+        assertThat(linkedProgram.instructions())
+            .noneMatch(instruction -> instruction instanceof LabelInstruction)
+            .noneMatch(instruction -> instruction instanceof SourceLocationInstruction)
+            .containsExactlyElementsOf(instructions.stream()
+                .filter(instruction -> !(instruction instanceof LabelInstruction))
+                .filter(instruction -> !(instruction instanceof SourceLocationInstruction))
+                .toList());
+
+        var locations = new ArrayList<SourceLocation>();
+        for (int index = 0; index <= linkedProgram.size(); index++) {
+            for (int location = linkedProgram.locationsStart(index); location < linkedProgram.locationsEnd(index); location++) {
+                locations.add(linkedProgram.location(location));
+            }
+        }
+
+        assertThat(locations).isEqualTo(instructions.stream()
+            .filter(instruction -> instruction instanceof SourceLocationInstruction)
+            .map(instruction -> ((SourceLocationInstruction) instruction).location())
+            .toList());
+
+        for (int index = 0; index < linkedProgram.size(); index++) {
+            var instruction = linkedProgram.instructions().get(index);
+
+            String destination = null;
+            if (instruction instanceof JumpToInstruction jumpInstruction) {
+                destination = jumpInstruction.destination();
+            } else if (instruction instanceof JumpToIfInstruction jumpInstruction) {
+                destination = jumpInstruction.destination();
+            } else if (instruction instanceof JumpToIfNotInstruction jumpInstruction) {
+                destination = jumpInstruction.destination();
+            }
+
+            if (destination == null) {
+                assertEquals(-1, linkedProgram.jumpTarget(index));
+                continue;
+            }
+
+            var labelIndex = program.jumpTable().get(destination);
+            if (labelIndex == null) {
+                assertEquals(index + 1, linkedProgram.jumpTarget(index));
+                continue;
+            }
+
+            var nextInstruction = instructions.subList(labelIndex, instructions.size()).stream()
+                .filter(next -> !(next instanceof LabelInstruction) && !(next instanceof SourceLocationInstruction))
+                .findFirst()
+                .orElseThrow();
+
+            assertThat(linkedProgram.instructions().get(linkedProgram.jumpTarget(index))).isSameAs(nextInstruction);
+        }
+    }
+
+    @Test
+    void undefinedLabelFallsThrough() {
+        var program = CompiledProgram.builder()
+            .instruction(new JumpToInstruction("missing"))
+            .instruction(new SourceLocationInstruction(new SourceLocation(2, 1)))
+            .instruction(ExitInstruction.SUCCESS)
+            .build();
+
+        var linkedProgram = ProgramLinker.link(program);
+
+        assertEquals(List.of(program.instructions().get(0), ExitInstruction.SUCCESS), linkedProgram.instructions());
+        assertEquals(1, linkedProgram.jumpTarget(0));
+        assertEquals(0, linkedProgram.locationsStart(1));
+        assertEquals(1, linkedProgram.locationsEnd(1));
+    }
+
+    @Test
+    void labelAfterSourceLocation() {
+        var program = CompiledProgram.builder()
+            .instruction(new SourceLocationInstruction(new SourceLocation(1, 1)))
+            .instruction(new LabelInstruction("label"))
+            .instruction(ExitInstruction.SUCCESS)
+            .build();
+
+        assertThatThrownBy(() -> ProgramLinker.link(program)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,230 @@
+package com.statelang.compilation.optimization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.statelang.compilation.CompiledProgram;
+import com.statelang.compilation.ProgramCompiler;
+import com.statelang.compilation.ProgramLinker;
+import com.statelang.compilation.instruction.ExitInstruction;
+import com.statelang.compilation.instruction.Instruction;
+import com.statelang.compilation.instruction.JumpToIfInstruction;
+import com.statelang.compilation.instruction.JumpToIfNotInstruction;
+import com.statelang.compilation.instruction.JumpToInstruction;
+import com.statelang.compilation.instruction.LabelInstruction;
+import com.statelang.compilation.instruction.StateInstruction;
+import com.statelang.diagnostics.Reporter;
+import com.statelang.parsing.ProgramParser;
+import com.statelang.runtime.BytecodeExecutor;
+import com.statelang.runtime.Interpreter;
+import com.statelang.tokenization.SourceLocation;
+import com.statelang.tokenization.SourceText;
+
+class ProgramOptimizerTests {
+
+    private static CompiledProgram compile(String text, ProgramOptimizer optimizer) {
+        var reporter = new Reporter();
+        var program = ProgramParser.program.tryParse(SourceText.fromString("test", text), reporter)
+            .flatMap(programTree -> ProgramCompiler.compile(reporter, programTree, null, optimizer));
+
+        assertFalse(reporter.hasErrors());
+        return program.orElseThrow();
+    }
+
+    private static int indexOf(List<Instruction> instructions, Class<? extends Instruction> instructionClass) {
+        for (int i = 0; i < instructions.size(); i++) {
+            if (instructionClass.isInstance(instructions.get(i))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int transitionIndex(List<Instruction> instructions, String state) {
+        for (int i = 0; i < instructions.size(); i++) {
+            if (instructions.get(i) instanceof StateInstruction stateInstruction && stateInstruction.state().equals(state)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Test
+    void invertsAssertionBranch() {
+        var text = """
+            state { A, B }
+            let x := 0;
+            when A {
+                assert x < 3;
+                x := x + 1;
+            }
+            """;
+
+        var program = compile(text, ProgramOptimizer.DEFAULT);
+        var instructions = program.instructions();
+
+        assertThat(instructions).noneMatch(JumpToIfNotInstruction.class::isInstance);
+
+        var jumpIndex = indexOf(instructions, JumpToIfInstruction.class);
+        assertTrue(jumpIndex >= 0);
+        assertThat(instructions.get(jumpIndex + 1)).isSameAs(ExitInstruction.FAILURE);
+        assertThat(instructions.get(jumpIndex + 2)).isInstanceOf(LabelInstruction.class);
+
+        assertThat(instructions).hasSizeLessThan(compile(text, ProgramOptimizer.NONE).instructions().size());
+    }
+
+    @Test
+    void removesJumpsOverEmptyElse() {
+        var program = compile("""
+            state { A, B }
+            let x := 0;
+            when A {
+                if x < 3 {
+                    x := x + 1;
+                }
+            }
+            """, ProgramOptimizer.DEFAULT);
+
+        var instructions = program.instructions();
+
+        assertThat(instructions).filteredOn(JumpToInstruction.class::isInstance)
+            .singleElement()
+            .extracting(instruction -> ((JumpToInstruction) instruction).destination())
+            .isEqualTo("A");
+
+        assertThat(instructions).filteredOn(LabelInstruction.class::isInstance)
+            .extracting(instruction -> ((LabelInstruction) instruction).label())
+            .containsExactly("A", program.instructions()
+                .stream()
+                .filter(JumpToIfNotInstruction.class::isInstance)
+                .map(instruction -> ((JumpToIfNotInstruction) instruction).destination())
+                .findFirst()
+                .orElseThrow());
+    }
+
+    @Test
+    void removesExitAfterTransition() {
+        var program = compile("""
+            state { A, B, C }
+            when A {
+                state := B;
+            }
+            when B {
+                state := C;
+            }
+            """, ProgramOptimizer.DEFAULT);
+
+        var instructions = program.instructions();
+
+        var transitionToB = transitionIndex(instructions, "B");
+
+        // the exit and the jump back to A are unreachable, so B is entered by falling through
+        assertThat(instructions.get(transitionToB + 1))
+            .isInstanceOf(LabelInstruction.class)
+            .extracting(instruction -> ((LabelInstruction) instruction).label())
+            .isEqualTo("B");
+
+        // C has no block, so the jump to it falls through to the exit
+        var transitionToC = transitionIndex(instructions, "C");
+        assertThat(instructions.get(transitionToC + 1)).isSameAs(ExitInstruction.SUCCESS);
+    }
+
+    @Test
+    void matchesUnoptimizedExecution() {
+        var texts = List.of(
+            """
+            state { COUNTING, STOPPED }
+
+            const max := 10;
+            let count := 0;
+
+            when COUNTING {
+                assert count < max;
+                count := count + 1;
+
+                if count = max {
+                    state := STOPPED;
+                }
+            }
+            """,
+            """
+            state { A, B, C }
+            let n := 0;
+            let parity := "";
+            when A {
+                n := n + 1;
+                if n % 2 = 0 {
+                    parity := parity + "e";
+                } else {
+                    parity := parity + "o";
+                }
+                if n >= 5 and parity != "" {
+                    if n > 7 {
+                        assert false;
+                    }
+                    state := B;
+                }
+            }
+            when B {
+                if n < 6 {
+                } else {
+                    n := n * 2;
+                }
+                if n > 10 {
+                    state := C;
+                } else {
+                    state := A;
+                }
+            }
+            """,
+            """
+            state { A, B }
+            let x := 0;
+            when A {
+                x := x + 1;
+                assert x < 3;
+            }
+            """
+        );
+
+        for (var text : texts) {
+            var program = compile(text, ProgramOptimizer.NONE);
+            var optimizedProgram = compile(text, ProgramOptimizer.DEFAULT);
+
+            assertThat(optimizedProgram.instructions()).hasSizeLessThan(program.instructions().size());
+            ProgramLinker.link(optimizedProgram);
+
+            var interpreter = new Interpreter(program);
+            var optimizedInterpreter = new Interpreter(optimizedProgram);
+
+            var locations = new ArrayList<SourceLocation>();
+            var optimizedLocations = new ArrayList<SourceLocation>();
+
+            while (!interpreter.exited() && locations.size() < 1000) {
+                locations.add(interpreter.step());
+                optimizedLocations.add(optimizedInterpreter.step());
+            }
+
+            assertEquals(locations, optimizedLocations);
+            assertEquals(interpreter.exitStatus(), optimizedInterpreter.exitStatus());
+            assertEquals(interpreter.state(), optimizedInterpreter.state());
+            assertEquals(interpreter.memory(), optimizedInterpreter.memory());
+
+            var executor = new BytecodeExecutor(optimizedProgram);
+            executor.run(Long.MAX_VALUE);
+
+            assertEquals(interpreter.exitStatus(), executor.exitStatus());
+            assertEquals(interpreter.state(), executor.state());
+            assertEquals(interpreter.memory(), executor.memory());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.statelang.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.statelang.tokenization.SourceLocation;
+import com.statelang.tokenization.SourceSelection;
+import com.statelang.tokenization.Token;
+
+class ReporterTests {
+
+    private static Report report(Report.Kind kind, int startLine, int endLine) {
+        return Report.builder()
+            .kind(kind)
+            .selection(new SourceSelection(new SourceLocation(startLine, 1), new SourceLocation(endLine, 1)))
+            .build();
+    }
+
+    @Test
+    void severityCounters() {
+        var reporter = new Reporter();
+
+        assertFalse(reporter.hasErrors());
+
+        reporter.report(report(Report.Kind.UNREACHABLE_STATE, 1, 1));
+        reporter.report(report(Report.Kind.UNREACHABLE_CODE, 2, 2));
+
+        assertFalse(reporter.hasErrors());
+        assertEquals(2, reporter.count(Report.Severity.WARNING));
+
+        reporter.report(report(Report.Kind.TYPE_ERROR, 3, 3));
+
+        assertTrue(reporter.hasErrors());
+        assertEquals(1, reporter.count(Report.Severity.ERROR));
+        assertEquals(0, reporter.count(Report.Severity.INFO));
+    }
+
+    @Test
+    void reportsInLines() {
+        var reporter = new Reporter();
+
+        var first = report(Report.Kind.TYPE_ERROR, 1, 1);
+        var multiline = report(Report.Kind.UNREACHABLE_CODE, 3, 8);
+        var inside = report(Report.Kind.UNDEFINED_VARIABLE, 5, 5);
+        var last = report(Report.Kind.UNDEFINED_STATE, 10, 10);
+
+        List.of(first, multiline, inside, last).forEach(reporter::report);
+
+        assertThat(reporter.reportsInLines(1, 1)).containsExactly(first);
+        assertThat(reporter.reportsInLines(6, 7)).containsExactly(multiline);
+        assertThat(reporter.reportsInLines(5, 10)).containsExactly(multiline, inside, last);
+        assertThat(reporter.reportsInLines(11, 20)).isEmpty();
+    }
+
+    @Test
+    void expectedTokenKindsAreMergedAndInterned() {
+        var selection = SourceSelection.FIRST_CHARACTER;
+
+        var semicolon = Report.builder()
+            .kind(Report.Kind.UNEXPECTED_TOKEN)
+            .selection(selection)
+            .expectedTokenKinds(List.of(Token.Kind.SEMICOLON))
+            .build();
+
+        var commaOrSemicolon = Report.builder()
+            .kind(Report.Kind.UNEXPECTED_TOKEN)
+            .selection(selection)
+            .expectedTokenKinds(List.of(Token.Kind.COMMA, Token.Kind.SEMICOLON))
+            .build();
+
+        var merged = Report.determineMostRelevant(semicolon, commaOrSemicolon);
+
+        assertThat(merged.expectedTokenKinds()).containsExactlyInAnyOrder(Token.Kind.SEMICOLON, Token.Kind.COMMA);
+        assertSame(commaOrSemicolon.expectedTokenKinds(), merged.expectedTokenKinds());
+        assertSame(merged, Report.determineMostRelevant(merged, semicolon));
+    }
+}
@@ -0,0 +1,87 @@
+package com.statelang.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+class StateMachineTests {
+
+    private static List<String> transitionTargets(StateMachine stateMachine, String state) {
+        var id = stateMachine.stateId(state);
+        var targets = new ArrayList<String>();
+
+        for (int transition = stateMachine.transitionsStart(id); transition < stateMachine.transitionsEnd(id); transition++) {
+            targets.add(stateMachine.state(stateMachine.transitionTarget(transition)).name());
+        }
+
+        return targets;
+    }
+
+    @Test
+    void indexesStates() {
+        var stateMachine = StateMachine.builder()
+            .state("A")
+            .state("B")
+            .state("C")
+            .state("D")
+            .initialState("B")
+            .transition("A", "D")
+            .transition("A", "B")
+            .transition("C", "A")
+            .transition("C", "A")
+            .build();
+
+        assertEquals(4, stateMachine.stateCount());
+        assertEquals(2, stateMachine.stateId("C"));
+        assertEquals(-1, stateMachine.stateId("E"));
+        assertEquals("D", stateMachine.state(3).name());
+        assertEquals(1, stateMachine.initialStateId());
+        assertEquals("C", stateMachine.getStateByName("C").name());
+
+        assertThat(transitionTargets(stateMachine, "A")).containsExactly("B", "D");
+        assertThat(transitionTargets(stateMachine, "B")).isEmpty();
+        assertThat(transitionTargets(stateMachine, "C")).containsExactly("A");
+        assertThat(transitionTargets(stateMachine, "D")).isEmpty();
+
+        assertThatThrownBy(() -> stateMachine.getStateByName("E")).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void rejectsUndefinedStates() {
+        var builder = StateMachine.builder().state("A").state("B");
+
+        assertThatThrownBy(() -> builder.initialState("C")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> builder.transition("A", "C")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> builder.transition("C", "A")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void largeMachine() {
+        var stateCount = 200_000;
+        var builder = StateMachine.builder();
+
+        for (int state = 0; state < stateCount; state++) {
+            builder.state("S" + state);
+        }
+
+        builder.initialState("S0");
+
+        for (int state = 0; state < stateCount; state++) {
+            builder.transition("S" + state, "S" + (state + 1) % stateCount);
+        }
+
+        var stateMachine = builder.build();
+
+        for (int id = 0; id < stateCount; id++) {
+            assertEquals(id, stateMachine.stateId("S" + id));
+            assertEquals(1, stateMachine.transitionsEnd(id) - stateMachine.transitionsStart(id));
+            assertEquals((id + 1) % stateCount, stateMachine.transitionTarget(stateMachine.transitionsStart(id)));
+        }
+    }
+}
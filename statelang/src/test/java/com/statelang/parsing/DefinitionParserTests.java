@@ -34,6 +34,7 @@ class DefinitionParserTests {
             assertThat(assertParsesWithoutErrors("const x := 123;", DefinitionParser.constant))
                 .usingRecursiveComparison()
                 .ignoringFieldsOfTypes(SourceSelection.class, SourceText.class)
+                .ignoringFieldsMatchingRegexes(".*offset")
                 .isEqualTo(
                     new ConstantDefinition(
                         new Token(null, Token.Kind.IDENTIFIER, "x"),
@@ -47,6 +48,7 @@ class DefinitionParserTests {
             assertThat(assertParsesWithErrors("const x := ;", DefinitionParser.constant))
                 .usingRecursiveComparison()
                 .ignoringFieldsOfTypes(SourceSelection.class, SourceText.class)
+                .ignoringFieldsMatchingRegexes(".*offset")
                 .isEqualTo(
                     Optional.of(
                         new ConstantDefinition(
@@ -62,6 +64,7 @@ class DefinitionParserTests {
             assertThat(assertParsesWithErrors("const x := 123", DefinitionParser.constant))
                 .usingRecursiveComparison()
                 .ignoringFieldsOfTypes(SourceSelection.class, SourceText.class)
+                .ignoringFieldsMatchingRegexes(".*offset")
                 .isEqualTo(
                     Optional.of(
                         new ConstantDefinition(
@@ -81,6 +84,7 @@ class DefinitionParserTests {
             assertThat(assertParsesWithoutErrors("let x := 123;", DefinitionParser.variable))
                 .usingRecursiveComparison()
                 .ignoringFieldsOfTypes(SourceSelection.class, SourceText.class)
+                .ignoringFieldsMatchingRegexes(".*offset")
                 .isEqualTo(
                     new VariableDefinition(
                         new Token(null, Token.Kind.IDENTIFIER, "x"),
@@ -94,6 +98,7 @@ class DefinitionParserTests {
             assertThat(assertParsesWithErrors("let x := ;", DefinitionParser.variable))
                 .usingRecursiveComparison()
                 .ignoringFieldsOfTypes(SourceSelection.class, SourceText.class)
+                .ignoringFieldsMatchingRegexes(".*offset")
                 .isEqualTo(
                     Optional.of(
                         new VariableDefinition(
@@ -109,6 +114,7 @@ class DefinitionParserTests {
             assertThat(assertParsesWithErrors("let x := 123", DefinitionParser.variable))
                 .usingRecursiveComparison()
                 .ignoringFieldsOfTypes(SourceSelection.class, SourceText.class)
+                .ignoringFieldsMatchingRegexes(".*offset")
                 .isEqualTo(
                     Optional.of(
                         new VariableDefinition(
@@ -127,6 +133,12 @@ class DefinitionParserTests {
         void emptyList() {
             assertThat(assertParsesWithoutErrors("state {}", DefinitionParser.state))
                 .usingRecursiveComparison()
+                .withEqualsForType(
+                    (actual, expected) -> actual.kind() == expected.kind()
+                        && actual.text().equals(expected.text())
+                        && actual.selection().equals(expected.selection()),
+                    Token.class
+                )
                 .isEqualTo(
                     new StateDefinition(
                         Arrays.asList(),
@@ -154,7 +166,8 @@ class DefinitionParserTests {
             assertThat(assertParsesWithoutErrors("state { SINGLE }", DefinitionParser.state))
                 .usingRecursiveComparison()
                 .ignoringFields("stateToken")
-                .ignoringFieldsOfTypes(SourceSelection.class, Token.Kind.class)
+                .ignoringFieldsOfTypes(SourceSelection.class, Token.Kind.class, SourceText.class)
+                .ignoringFieldsMatchingRegexes(".*offset")
                 .isEqualTo(
                     new StateDefinition(listOfStates("SINGLE"), null)
                 );
@@ -165,7 +178,8 @@ class DefinitionParserTests {
             assertThat(assertParsesWithoutErrors("state { A, B }", DefinitionParser.state))
                 .usingRecursiveComparison()
                 .ignoringFields("stateToken")
-                .ignoringFieldsOfTypes(SourceSelection.class, Token.Kind.class)
+                .ignoringFieldsOfTypes(SourceSelection.class, Token.Kind.class, SourceText.class)
+                .ignoringFieldsMatchingRegexes(".*offset")
                 .isEqualTo(
                     new StateDefinition(listOfStates("A", "B"), null)
                 );
@@ -173,7 +187,8 @@ class DefinitionParserTests {
             assertThat(assertParsesWithoutErrors("state { A, B, C }", DefinitionParser.state))
                 .usingRecursiveComparison()
                 .ignoringFields("stateToken")
-                .ignoringFieldsOfTypes(SourceSelection.class, Token.Kind.class)
+                .ignoringFieldsOfTypes(SourceSelection.class, Token.Kind.class, SourceText.class)
+                .ignoringFieldsMatchingRegexes(".*offset")
                 .isEqualTo(
                     new StateDefinition(listOfStates("A", "B", "C"), null)
                 );
@@ -181,7 +196,8 @@ class DefinitionParserTests {
             assertThat(assertParsesWithoutErrors("state { A, B, C, }", DefinitionParser.state))
                 .usingRecursiveComparison()
                 .ignoringFields("stateToken")
-                .ignoringFieldsOfTypes(SourceSelection.class, Token.Kind.class)
+                .ignoringFieldsOfTypes(SourceSelection.class, Token.Kind.class, SourceText.class)
+                .ignoringFieldsMatchingRegexes(".*offset")
                 .isEqualTo(
                     new StateDefinition(listOfStates("A", "B", "C"), null)
                 );
@@ -195,7 +211,8 @@ class DefinitionParserTests {
         void normal() {
             assertThat(assertParsesWithoutErrors("when A {}", DefinitionParser.inState))
                 .usingRecursiveComparison()
-                .ignoringFieldsOfTypes(SourceSelection.class)
+                .ignoringFieldsOfTypes(SourceSelection.class, SourceText.class)
+                .ignoringFieldsMatchingRegexes(".*offset")
                 .isEqualTo(
                     new InStateDefinition(
                         new Token(null, Token.Kind.IDENTIFIER, "A"),
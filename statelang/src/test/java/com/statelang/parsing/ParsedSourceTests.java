@@ -0,0 +1,201 @@
+package com.statelang.parsing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.statelang.ast.InStateDefinition;
+import com.statelang.diagnostics.Report;
+import com.statelang.diagnostics.Reporter;
+import com.statelang.tokenization.SourceLocation;
+import com.statelang.tokenization.SourceText;
+import com.statelang.tokenization.TextEdit;
+import com.statelang.tokenization.Token;
+
+class ParsedSourceTests {
+
+    private static final String PROGRAM = """
+        state {
+            [color "red"] COUNTING,
+            STOPPED,
+            FAILED
+        }
+
+        # counter limit
+        const max := 10;
+        let count := 0;
+        let name := "counter";
+
+        when COUNTING {
+            count := count + 1;
+
+            if count = max and not (name = "") {
+                state := STOPPED;
+            } else {
+                assert count < max * 2;
+            }
+        }
+
+        when STOPPED {
+            name := name + "!";
+            state := FAILED;
+        }
+
+        when FAILED {
+            assert false;
+        }
+        """;
+
+    private static final List<String> REPLACEMENTS = List.of(
+        "", " ", "\n", "x", "1", ".5", "}", "{", ";", "(", ")", "\"", "#", "$",
+        "when", "state", " := ", " + 2", "\n# note\n", "let y := 3;\n", "when STOPPED { }\n", "\"text\""
+    );
+
+    private static final Comparator<Token> TOKEN_COMPARATOR = Comparator
+        .comparing(Token::kind)
+        .thenComparing(Token::text)
+        .thenComparing(token -> token.selection().start())
+        .thenComparing(token -> token.selection().end());
+
+    private static String reportKey(Report report) {
+        return report + " " + report.unexpectedTokenKind() + " " + report.expectedTokenKinds();
+    }
+
+    private static List<String> reportKeys(List<Report> reports) {
+        return reports.stream().map(ParsedSourceTests::reportKey).toList();
+    }
+
+    private static SourceLocation locationAt(String text, int offset) {
+        var location = SourceLocation.FIRST_CHARACTER;
+        return location.movedTrough(text.substring(0, offset));
+    }
+
+    private static void assertSameAsFullParse(ParsedSource parsedSource) {
+        var sourceText = parsedSource.sourceText();
+        var fullParse = ParsedSource.parse(sourceText);
+
+        assertThat(parsedSource.tokenStream().tokens())
+            .usingElementComparator(TOKEN_COMPARATOR)
+            .isEqualTo(fullParse.tokenStream().tokens());
+
+        assertThat(parsedSource.program())
+            .usingRecursiveComparison()
+            .withComparatorForType(TOKEN_COMPARATOR, Token.class)
+            .isEqualTo(fullParse.program());
+
+        assertThat(reportKeys(parsedSource.reports())).isEqualTo(reportKeys(fullParse.reports()));
+
+        var reporter = new Reporter();
+        var program = ProgramParser.program.tryParse(sourceText, reporter);
+
+        assertThat(fullParse.program())
+            .usingRecursiveComparison()
+            .withComparatorForType(TOKEN_COMPARATOR, Token.class)
+            .isEqualTo(program);
+        assertThat(reportKeys(fullParse.reports())).isEqualTo(reportKeys(reporter.reports()));
+    }
+
+    @Test
+    void fullParse() {
+        assertSameAsFullParse(ParsedSource.parse(SourceText.fromString("test", PROGRAM)));
+    }
+
+    @Test
+    void reusesUnchangedDefinitions() {
+        var parsedSource = ParsedSource.parse(SourceText.fromString("test", PROGRAM));
+        var definitions = parsedSource.program().orElseThrow().definitions();
+
+        var plusOne = PROGRAM.indexOf("+ 1");
+        var edited = parsedSource.edit(new TextEdit(
+            locationAt(PROGRAM, plusOne + 2),
+            locationAt(PROGRAM, plusOne + 3),
+            "2"
+        ));
+
+        assertSameAsFullParse(edited);
+
+        var editedDefinitions = edited.program().orElseThrow().definitions();
+        assertThat(editedDefinitions).hasSameSizeAs(definitions);
+
+        for (int i = 0; i < definitions.size(); i++) {
+            if (definitions.get(i) instanceof InStateDefinition inStateDefinition && inStateDefinition.state().equals("COUNTING")) {
+                assertThat(editedDefinitions.get(i)).isNotSameAs(definitions.get(i));
+            } else {
+                assertThat(editedDefinitions.get(i)).isSameAs(definitions.get(i));
+            }
+        }
+    }
+
+    @Test
+    void shiftsDefinitionsAfterInsertedLines() {
+        var parsedSource = ParsedSource.parse(SourceText.fromString("test", PROGRAM));
+
+        var edited = parsedSource.edit(TextEdit.insert(locationAt(PROGRAM, PROGRAM.indexOf("when STOPPED")), "\n\n"));
+
+        assertSameAsFullParse(edited);
+
+        var lastDefinition = (InStateDefinition) edited.program().orElseThrow().definitions().get(6);
+        assertThat(lastDefinition.stateToken().selection().start()).isEqualTo(new SourceLocation(29, 6));
+    }
+
+    @Test
+    void randomEdits() {
+        var random = new Random(42);
+
+        for (int run = 0; run < 40; run++) {
+            var parsedSource = ParsedSource.parse(SourceText.fromString("test", PROGRAM));
+
+            for (int step = 0; step < 25; step++) {
+                var text = parsedSource.sourceText().text();
+
+                var start = random.nextInt(text.length() + 1);
+                var end = Math.min(text.length(), start + random.nextInt(4) * random.nextInt(4));
+                var replacement = REPLACEMENTS.get(random.nextInt(REPLACEMENTS.size()));
+
+                parsedSource = parsedSource.edit(new TextEdit(locationAt(text, start), locationAt(text, end), replacement));
+
+                assertThat(parsedSource.sourceText().text())
+                    .isEqualTo(text.substring(0, start) + replacement + text.substring(end));
+
+                assertSameAsFullParse(parsedSource);
+            }
+        }
+    }
+
+    @Test
+    void parallelParse() {
+        var random = new Random(7);
+        var pool = new ForkJoinPool(4);
+
+        try {
+            for (int run = 0; run < 20; run++) {
+                var text = new StringBuilder(PROGRAM.repeat(40));
+
+                for (int edit = 0; edit < run % 5; edit++) {
+                    var offset = random.nextInt(text.length());
+                    text.insert(offset, REPLACEMENTS.get(random.nextInt(REPLACEMENTS.size())));
+                }
+
+                var sourceText = SourceText.fromString("test", text.toString());
+                var reporter = new Reporter();
+                var parsedSource = ParsedSource.parse(sourceText, pool, reporter);
+
+                assertSameAsFullParse(parsedSource);
+                assertThat(reportKeys(parsedSource.reports()))
+                    .containsExactlyElementsOf(reportKeys(ParsedSource.parse(sourceText).reports()));
+                assertThat(reportKeys(reporter.reports()))
+                    .containsExactlyElementsOf(reportKeys(parsedSource.reports()));
+
+                var offset = random.nextInt(text.length());
+                assertSameAsFullParse(parsedSource.edit(TextEdit.insert(locationAt(text.toString(), offset), ";")));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
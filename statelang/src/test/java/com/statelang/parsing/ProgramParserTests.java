@@ -9,8 +9,10 @@ import java.util.Collections;
 import org.junit.jupiter.api.Test;
 
 import com.statelang.ast.*;
+import com.statelang.diagnostics.Reporter;
 import com.statelang.model.BinaryOperator;
 import com.statelang.tokenization.SourceSelection;
+import com.statelang.tokenization.SourceText;
 import com.statelang.tokenization.Token;
 import static com.statelang.tokenization.Token.Kind.*;
 
@@ -40,7 +42,8 @@ class ProgramParserTests {
 
         assertThat(program)
             .usingRecursiveComparison()
-            .ignoringFieldsOfTypes(SourceSelection.class)
+            .ignoringFieldsOfTypes(SourceSelection.class, SourceText.class)
+            .ignoringFieldsMatchingRegexes(".*offset")
             .isEqualTo(
                 new Program(
                     Arrays.asList(
@@ -102,4 +105,26 @@ class ProgramParserTests {
                 )
             );
     }
+
+    @Test
+    void recoversAfterBrokenBlock() {
+        var reporter = new Reporter();
+        var program = ProgramParser.program.tryParse(SourceText.fromString("test", """
+            state { A, B }
+
+            when {
+                if x = 1 {
+                    x := 2;
+                }
+            }
+
+            let x := 1;
+            """), reporter);
+
+        assertThat(reporter.reports()).hasSize(1);
+        assertThat(program.orElseThrow().definitions())
+            .hasSize(2)
+            .last()
+            .isInstanceOf(VariableDefinition.class);
+    }
 }
@@ -6,9 +6,16 @@ import com.statelang.ast.InvalidValueNode;
 import com.statelang.ast.NumberLiteralValue;
 import com.statelang.ast.StringLiteralValue;
 import com.statelang.ast.UnaryValueExpressionNode;
+import com.statelang.ast.ValueExpressionNode;
+import com.statelang.ast.VariableValueNode;
+import com.statelang.diagnostics.Report;
+import com.statelang.diagnostics.Reporter;
 import com.statelang.model.BinaryOperator;
 import com.statelang.model.UnaryOperator;
+import com.statelang.parsing.lib.Parse;
+import com.statelang.parsing.lib.Parser;
 import com.statelang.tokenization.SourceSelection;
+import com.statelang.tokenization.SourceText;
 import com.statelang.tokenization.Token;
 
 import org.junit.jupiter.api.Nested;
@@ -18,8 +25,11 @@ import static com.statelang.parsing.lib.ParsingTestUtils.assertParsesWithoutErro
 import static com.statelang.parsing.lib.ParsingTestUtils.assertParsesWithErrors;
 
 import static org.assertj.core.api.Assertions.*;
+import static com.statelang.tokenization.Token.Kind.*;
 
+import java.util.Collections;
 import java.util.Optional;
+import java.util.Random;
 
 class ValueExpressionParserTests {
 
@@ -207,4 +217,165 @@ class ValueExpressionParserTests {
                 )
             );
     }
+
+    @Test
+    void longChain() {
+        var source = String.join(" + ", Collections.nCopies(20000, "x")) + " * 2";
+
+        ValueExpressionNode node = assertParsesWithoutErrors(source, ValueExpressionParser.lambda);
+
+        var depth = 0;
+        while (node instanceof BinaryValueExpressionNode binaryNode) {
+            assertThat(binaryNode.operator()).isEqualTo(BinaryOperator.PLUS);
+            assertThat(binaryNode.right()).isInstanceOf(depth == 0 ? BinaryValueExpressionNode.class : VariableValueNode.class);
+            node = binaryNode.left();
+            depth++;
+        }
+
+        assertThat(depth).isEqualTo(19999);
+    }
+
+    @Test
+    void matchesCombinatorGrammar() {
+        var random = new Random(42);
+        var words = new String[] {
+            "a", "1", "\"s\"", "true", "(", ")", "+", "-", "*", "/", "%",
+            "<", "<=", ">", ">=", "=", "!=", "and", "or", "not",
+        };
+
+        for (int i = 0; i < 3000; i++) {
+            var source = new StringBuilder();
+
+            if (i % 2 == 0) {
+                for (int length = 1 + random.nextInt(12); length > 0; length--) {
+                    source.append(words[random.nextInt(words.length)]).append(' ');
+                }
+            } else {
+                appendExpression(source, random, 3);
+            }
+
+            var sourceText = SourceText.fromString("test", source.toString());
+
+            var expectedReporter = new Reporter();
+            var expected = referenceLambda.tryParse(sourceText, expectedReporter);
+
+            var actualReporter = new Reporter();
+            var actual = ValueExpressionParser.lambda.tryParse(sourceText, actualReporter);
+
+            assertThat(actual)
+                .as(source.toString())
+                .usingRecursiveComparison()
+                .withEqualsForType(
+                    (left, right) -> left.kind() == right.kind() && left.offset() == right.offset(),
+                    Token.class
+                )
+                .isEqualTo(expected);
+
+            assertThat(actualReporter.reports())
+                .as(source.toString())
+                .usingRecursiveFieldByFieldElementComparator()
+                .isEqualTo(expectedReporter.reports());
+        }
+    }
+
+    private static void appendExpression(StringBuilder source, Random random, int depth) {
+        var operators = new String[] { "+", "-", "*", "/", "%", "<", "<=", ">", ">=", "=", "!=", "and", "or" };
+
+        for (int terms = 1 + random.nextInt(4); terms > 0; terms--) {
+            switch (random.nextInt(4)) {
+                case 0 -> source.append("not ");
+                case 1 -> source.append(random.nextBoolean() ? "-" : "+");
+                default -> { }
+            }
+
+            if (depth > 0 && random.nextInt(4) == 0) {
+                source.append('(');
+                appendExpression(source, random, depth - 1);
+                source.append(')');
+            } else {
+                source.append(random.nextBoolean() ? "x" : "2");
+            }
+
+            if (terms > 1) {
+                source.append(' ').append(operators[random.nextInt(operators.length)]).append(' ');
+            }
+        }
+    }
+
+    private static final Parser<ValueExpressionNode> referenceLambda = Parse.recursive(lambdaRecursion -> {
+        var innerExpression = lambdaRecursion.between(Parse.token(OPEN_PARENTHESIS), Parse.token(CLOSE_PARENTHESIS));
+
+        var primaryTerm = Parse.oneOf(
+            ValueExpressionParser.numberLiteral,
+            ValueExpressionParser.booleanLiteral,
+            ValueExpressionParser.stringLiteral,
+            ValueExpressionParser.variable,
+            innerExpression
+        )
+            .recover(Parse.currentSelection().map(InvalidValueNode::new));
+
+        record TokenOperatorPair(Token token, UnaryOperator operator) {}
+
+        var signedTerm = Parse.oneOf(
+            Parse.token(OPERATOR_PLUS).map(token -> new TokenOperatorPair(token, UnaryOperator.PLUS)),
+            Parse.token(OPERATOR_MINUS).map(token -> new TokenOperatorPair(token, UnaryOperator.MINUS))
+        )
+            .then(
+                operator -> primaryTerm.map(
+                    term -> new UnaryValueExpressionNode(operator.value().operator(), term, operator.value().token())
+                )
+                    .cast(ValueExpressionNode.class)
+            )
+            .or(primaryTerm);
+
+        var multiplication = Parse.chain(
+            signedTerm,
+            Parse.oneOf(
+                Parse.token(OPERATOR_MULTIPLY).as(BinaryOperator.MULTIPLY),
+                Parse.token(OPERATOR_DIVIDE).as(BinaryOperator.DIVIDE),
+                Parse.token(OPERATOR_MODULO).as(BinaryOperator.MODULO)
+            ),
+            BinaryValueExpressionNode::new
+        );
+
+        var addition = Parse.chain(
+            multiplication,
+            Parse.oneOf(
+                Parse.token(OPERATOR_PLUS).as(BinaryOperator.PLUS),
+                Parse.token(OPERATOR_MINUS).as(BinaryOperator.MINUS)
+            ),
+            BinaryValueExpressionNode::new
+        );
+
+        var relation = addition.then(
+            left -> Parse.oneOf(
+                Parse.token(OPERATOR_EQUALS).as(BinaryOperator.EQUALS),
+                Parse.token(OPERATOR_NOT_EQUALS).as(BinaryOperator.NOT_EQUALS),
+                Parse.token(OPERATOR_LESS).as(BinaryOperator.LESS),
+                Parse.token(OPERATOR_LESS_OR_EQUAL).as(BinaryOperator.LESS_OR_EQUAL),
+                Parse.token(OPERATOR_GREATER).as(BinaryOperator.GREATER),
+                Parse.token(OPERATOR_GREATER_OR_EQUAL).as(BinaryOperator.GREATER_OR_EQUAL)
+            )
+                .then(
+                    operator -> addition.map(
+                        right -> new BinaryValueExpressionNode(operator.value(), left.value(), right)
+                    )
+                        .cast(ValueExpressionNode.class)
+                )
+                .or(Parse.success(left::value))
+        );
+
+        var not = Parse.token(OPERATOR_NOT).then(
+            notToken -> relation.map(
+                right -> new UnaryValueExpressionNode(UnaryOperator.NOT, right, notToken.value())
+            )
+                .cast(ValueExpressionNode.class)
+        )
+            .or(relation);
+
+        var and = Parse.chain(not, Parse.token(OPERATOR_AND).as(BinaryOperator.AND), BinaryValueExpressionNode::new);
+
+        return Parse.chain(and, Parse.token(OPERATOR_OR).as(BinaryOperator.OR), BinaryValueExpressionNode::new)
+            .withError(Report.Kind.VALUE_EXPRESSION_EXPECTED);
+    });
 }
@@ -157,4 +157,18 @@ class ParseTests {
         assertEquals("success", assertParsesWithoutErrors("1 2 3 4 5 ;", parser));
         assertParsesWithErrors("1 2 3 4 5", parser);
     }
+
+    @Test
+    void skipUntilSyncTokens() {
+        var parser = Parse.skipUntil(SEMICOLON);
+
+        assertEquals(SEMICOLON, assertParsesWithoutErrors("1 { 2 ; } 3 ;", parser).kind());
+        assertParsesWithErrors("1 { 2 ;", parser);
+
+        parser = Parse.skipUntil(SEMICOLON, CLOSE_CURLY_BRACE)
+            .followedBy(Parse.token(LITERAL_NUMBER));
+
+        assertEquals(CLOSE_CURLY_BRACE, assertParsesWithoutErrors("1 { { 2 ; } ; } 3", parser).kind());
+        assertEquals(CLOSE_CURLY_BRACE, assertParsesWithoutErrors("1 } 3", parser).kind());
+    }
 }
@@ -3,13 +3,23 @@ package com.statelang.parsing.lib;
 import static com.statelang.parsing.lib.ParsingTestUtils.assertParsesWithoutErrors;
 import static com.statelang.parsing.lib.ParsingTestUtils.assertParsesWithErrors;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
 
+import com.statelang.diagnostics.Report;
+import com.statelang.diagnostics.Reporter;
+import com.statelang.tokenization.SourceText;
 import com.statelang.tokenization.Token;
+import com.statelang.tokenization.TokenReader;
 import static com.statelang.tokenization.Token.Kind.*;
 
 class ParserTests {
@@ -92,4 +102,149 @@ class ParserTests {
         assertTrue(result.isPresent());
         assertEquals("y", result.get());
     }
+
+    @Test
+    void memo() {
+        var attempts = new AtomicInteger();
+        var identifier = countingParser(Parse.token(IDENTIFIER), attempts).memo();
+
+        var parser = Parse.optional(identifier.then(Parse.token(SEMICOLON)))
+                .recover(identifier.then(Parse.token(COMMA)));
+
+        var token = assertParsesWithErrors("x ,", parser);
+
+        assertEquals(COMMA, token.orElseThrow().kind());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void memoizedBacktrackingIsLinear() {
+        var attempts = new AtomicInteger();
+
+        var token = assertParsesWithErrors(nestedParentheses(5), backtrackingNesting(attempts, false));
+        assertEquals("x", token.orElseThrow().text());
+        assertEquals(32, attempts.get());
+
+        attempts.set(0);
+
+        token = assertParsesWithErrors(nestedParentheses(40), backtrackingNesting(attempts, true));
+        assertEquals("x", token.orElseThrow().text());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void firstTokenKinds() {
+        var constant = Parse.token(KEYWORD_CONST).then(Parse.token(IDENTIFIER));
+        var variable = Parse.token(KEYWORD_LET).then(Parse.token(IDENTIFIER)).map(token -> token);
+
+        assertEquals(Set.of(KEYWORD_CONST), constant.firstTokenKinds());
+        assertEquals(Set.of(KEYWORD_CONST, KEYWORD_LET), Parse.oneOf(constant, variable).firstTokenKinds());
+        assertEquals(Set.of(KEYWORD_LET), Parse.optional(variable).firstTokenKinds());
+
+        assertNull(constant.or(Parse.success(() -> null)).firstTokenKinds());
+        assertNull(constant.recover(() -> null).firstTokenKinds());
+        assertNull(constant.many().firstTokenKinds());
+        assertNull(Parse.ref(() -> constant).firstTokenKinds());
+    }
+
+    @Test
+    void oneOfDispatchesByFirstToken() {
+        var constantAttempts = new AtomicInteger();
+        var variableAttempts = new AtomicInteger();
+        var stateAttempts = new AtomicInteger();
+
+        var parser = Parse.oneOf(
+                countingParser(Parse.token(KEYWORD_CONST), constantAttempts),
+                countingParser(Parse.token(KEYWORD_LET), variableAttempts),
+                countingParser(Parse.token(KEYWORD_STATE), stateAttempts));
+
+        assertEquals(KEYWORD_STATE, assertParsesWithoutErrors("state", parser).kind());
+        assertEquals(0, constantAttempts.get());
+        assertEquals(0, variableAttempts.get());
+        assertEquals(1, stateAttempts.get());
+
+        var reporter = new Reporter();
+        assertParsesWithErrors(SourceText.fromString("test", "when"), reporter, parser);
+
+        var report = reporter.reports().get(reporter.reports().size() - 1);
+        assertEquals(Set.of(KEYWORD_CONST, KEYWORD_LET, KEYWORD_STATE), report.expectedTokenKinds());
+    }
+
+    @Test
+    void orDispatchesByFirstToken() {
+        var attempts = new AtomicInteger();
+
+        var parser = countingParser(Parse.token(OPERATOR_MINUS), attempts)
+                .then(Parse.token(LITERAL_NUMBER))
+                .or(Parse.token(LITERAL_NUMBER));
+
+        assertEquals("5", assertParsesWithoutErrors("5", parser).text());
+        assertEquals(0, attempts.get());
+
+        assertEquals("5", assertParsesWithoutErrors("- 5", parser).text());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void lazyErrors() {
+        var reader = TokenReader.startReading(SourceText.fromString("test", "when x"), new Reporter());
+        var result = Parse.oneOf(Parse.token(KEYWORD_CONST), Parse.token(KEYWORD_LET)).parse(reader, new Reporter());
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.isErrorAt(reader, 0));
+        assertFalse(result.isErrorAt(reader, 1));
+
+        var report = result.error();
+        assertSame(report, result.error());
+        assertEquals(Report.Kind.UNEXPECTED_TOKEN, report.kind());
+        assertEquals(reader.selectionAt(0), report.selection());
+        assertEquals(Set.of(KEYWORD_CONST, KEYWORD_LET), report.expectedTokenKinds());
+
+        reader = TokenReader.startReading(SourceText.fromString("test", "let"), new Reporter());
+        result = Parse.token(KEYWORD_LET).then(Parse.token(IDENTIFIER)).withError(Report.Kind.VARIABLE_EXPECTED)
+                .parse(reader, new Reporter());
+
+        assertTrue(result.isErrorAt(reader, 0));
+        assertEquals(Report.Kind.VARIABLE_EXPECTED, result.error().kind());
+        assertEquals(reader.location(), result.error().location());
+
+        var eagerResult = ParserResult.fromError(Report.builder()
+                .selection(reader.selectionAt(0))
+                .kind(Report.Kind.UNEXPECTED_TOKEN));
+
+        assertTrue(eagerResult.isErrorAt(reader, 0));
+    }
+
+    private static String nestedParentheses(int depth) {
+        return "(".repeat(depth) + "x" + ")".repeat(depth);
+    }
+
+    private static Parser<Token> backtrackingNesting(AtomicInteger attempts, boolean memoized) {
+        var identifier = countingParser(Parse.token(IDENTIFIER), attempts);
+
+        return Parse.recursive(nested -> {
+            var parenthesized = nested.between(Parse.token(OPEN_PARENTHESIS), Parse.token(CLOSE_PARENTHESIS));
+
+            var term = Parse.optional(parenthesized.followedBy(Parse.token(SEMICOLON)))
+                    .recover(parenthesized)
+                    .or(identifier);
+
+            return memoized ? term.memo() : term;
+        });
+    }
+
+    private static <T> Parser<T> countingParser(Parser<T> parser, AtomicInteger attempts) {
+        return new Parser<T>() {
+            @Override
+            public ParserResult<T> parse(ParserContext context) {
+                attempts.incrementAndGet();
+                return parser.parse(context);
+            }
+
+            @Override
+            public Set<Token.Kind> firstTokenKinds() {
+                return parser.firstTokenKinds();
+            }
+        };
+    }
 }
@@ -0,0 +1,149 @@
+package com.statelang.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.statelang.compilation.CompiledProgram;
+import com.statelang.compilation.ProgramCompiler;
+import com.statelang.diagnostics.Reporter;
+import com.statelang.tokenization.SourceText;
+
+class BytecodeExecutorTests {
+
+    private static CompiledProgram compile(String text) {
+        var reporter = new Reporter();
+        var program = ProgramCompiler.compile(reporter, SourceText.fromString("test", text));
+
+        assertFalse(reporter.hasErrors());
+        return program.orElseThrow();
+    }
+
+    @Test
+    void counter() {
+        assertMatchesInterpreter("""
+            state { COUNTING, STOPPED }
+
+            const max := 10;
+            let count := 0;
+
+            when COUNTING {
+                assert count < max;
+                count := count + 1;
+
+                if count = max {
+                    state := STOPPED;
+                }
+            }
+            """);
+    }
+
+    @Test
+    void failedAssertion() {
+        assertMatchesInterpreter("""
+            state { A, B }
+            let x := 0;
+            when A {
+                x := x + 1;
+                assert x < 3;
+            }
+            """);
+    }
+
+    @Test
+    void operators() {
+        assertMatchesInterpreter("""
+            state { A, B }
+            let s := "a";
+            let b := false;
+            let n := 7;
+            when A {
+                s := s + "b" + "c";
+                b := not b and (s = "abc") or false;
+                n := -(n % 4) * 2 + 1;
+                state := B;
+            }
+            """);
+    }
+
+    @Test
+    void branches() {
+        assertMatchesInterpreter("""
+            state { A, B, C }
+            let n := 0;
+            let parity := "";
+            when A {
+                n := n + 1;
+                if n % 2 = 0 {
+                    parity := parity + "e";
+                } else {
+                    parity := parity + "o";
+                }
+                if n >= 5 and parity != "" {
+                    state := B;
+                }
+            }
+            when C {
+                n := 100;
+            }
+            """);
+    }
+
+    private static void assertMatchesInterpreter(String text) {
+        var program = compile(text);
+
+        var interpreter = new Interpreter(program);
+        var executor = new BytecodeExecutor(program);
+
+        interpreter.run(Long.MAX_VALUE);
+        executor.run(Long.MAX_VALUE);
+
+        assertTrue(executor.exited());
+        assertEquals(interpreter.exitStatus(), executor.exitStatus());
+        assertEquals(interpreter.error() == null, executor.error() == null);
+        assertEquals(interpreter.state(), executor.state());
+        assertEquals(interpreter.memory(), executor.memory());
+    }
+
+    @Test
+    void zeroDivision() {
+        var executor = new BytecodeExecutor(compile("""
+            state { A, B }
+            let x := 1;
+            when A {
+                x := x / (x - 1);
+            }
+            """));
+
+        executor.run(Long.MAX_VALUE);
+
+        assertEquals(Boolean.FALSE, executor.exitStatus());
+        assertNotNull(executor.error());
+    }
+
+    @Test
+    void budgetAndReset() {
+        var executor = new BytecodeExecutor(compile("""
+            state { A, B }
+            let x := 0;
+            when A {
+                x := x + 1;
+            }
+            """));
+
+        assertFalse(executor.started());
+
+        assertEquals(1000, executor.run(1000));
+        assertTrue(executor.running());
+        assertNull(executor.exitStatus());
+        assertEquals(1000.0, executor.memory().get("x"));
+
+        executor.reset();
+        assertFalse(executor.started());
+        assertEquals(0.0, executor.memory().get("x"));
+    }
+}
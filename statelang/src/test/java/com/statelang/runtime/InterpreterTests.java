@@ -0,0 +1,137 @@
+package com.statelang.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.statelang.compilation.CompiledProgram;
+import com.statelang.compilation.ProgramCompiler;
+import com.statelang.diagnostics.Reporter;
+import com.statelang.tokenization.SourceLocation;
+import com.statelang.tokenization.SourceText;
+
+class InterpreterTests {
+
+    private static CompiledProgram compile(String text) {
+        var reporter = new Reporter();
+        var program = ProgramCompiler.compile(reporter, SourceText.fromString("test", text));
+
+        assertFalse(reporter.hasErrors());
+        return program.orElseThrow();
+    }
+
+    @Test
+    void counter() {
+        var interpreter = new Interpreter(compile("""
+            state { COUNTING, STOPPED }
+
+            const max := 10;
+            let count := 0;
+
+            when COUNTING {
+                assert count < max;
+                count := count + 1;
+
+                if count = max {
+                    state := STOPPED;
+                }
+            }
+            """));
+
+        assertFalse(interpreter.started());
+
+        interpreter.run(Long.MAX_VALUE);
+
+        assertTrue(interpreter.exited());
+        assertEquals(Boolean.TRUE, interpreter.exitStatus());
+        assertNull(interpreter.error());
+        assertEquals("STOPPED", interpreter.state());
+        assertEquals(Map.of("max", 10.0, "count", 10.0), interpreter.memory());
+    }
+
+    @Test
+    void failedAssertion() {
+        var interpreter = new Interpreter(compile("""
+            state { A, B }
+            let x := 0;
+            when A {
+                x := x + 1;
+                assert x < 3;
+            }
+            """));
+
+        interpreter.run(Long.MAX_VALUE);
+
+        assertEquals(Boolean.FALSE, interpreter.exitStatus());
+        assertNull(interpreter.error());
+        assertEquals(3.0, interpreter.memory().get("x"));
+    }
+
+    @Test
+    void zeroDivision() {
+        var interpreter = new Interpreter(compile("""
+            state { A, B }
+            let x := 1;
+            when A {
+                x := x / (x - 1);
+            }
+            """));
+
+        interpreter.run(Long.MAX_VALUE);
+
+        assertEquals(Boolean.FALSE, interpreter.exitStatus());
+        assertNotNull(interpreter.error());
+    }
+
+    @Test
+    void operators() {
+        var interpreter = new Interpreter(compile("""
+            state { A, B }
+            let s := "a";
+            let b := false;
+            let n := 7;
+            when A {
+                s := s + "b" + "c";
+                b := not b and (s = "abc") or false;
+                n := -(n % 4) * 2 + 1;
+                state := B;
+            }
+            """));
+
+        interpreter.run(Long.MAX_VALUE);
+
+        assertEquals(Boolean.TRUE, interpreter.exitStatus());
+        assertEquals(Map.of("s", "abc", "b", true, "n", -5.0), interpreter.memory());
+    }
+
+    @Test
+    void stepAndBudget() {
+        var interpreter = new Interpreter(compile("""
+            state { A, B }
+            let x := 0;
+            when A {
+                x := x + 1;
+            }
+            """));
+
+        var firstLocation = interpreter.step();
+        assertTrue(interpreter.running());
+        assertEquals(new SourceLocation(2, 10), firstLocation);
+
+        assertNotEquals(firstLocation, interpreter.step());
+
+        assertEquals(1000, interpreter.run(1000));
+        assertTrue(interpreter.running());
+
+        interpreter.reset();
+        assertFalse(interpreter.started());
+        assertEquals(0.0, interpreter.memory().get("x"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.statelang.tokenization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class SourceTextTests {
+
+    private static final SourceText SOURCE = SourceText.fromString("test", "ab\n\ncde\nf");
+
+    @Test
+    void locationOf() {
+        assertEquals(new SourceLocation(1, 1), SOURCE.locationOf(0));
+        assertEquals(new SourceLocation(1, 3), SOURCE.locationOf(2));
+        assertEquals(new SourceLocation(2, 1), SOURCE.locationOf(3));
+        assertEquals(new SourceLocation(3, 1), SOURCE.locationOf(4));
+        assertEquals(new SourceLocation(3, 3), SOURCE.locationOf(6));
+        assertEquals(new SourceLocation(4, 1), SOURCE.locationOf(8));
+        assertEquals(new SourceLocation(4, 2), SOURCE.locationOf(9));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> SOURCE.locationOf(10));
+    }
+
+    @Test
+    void offsetOfIsInverse() {
+        for (int offset = 0; offset <= SOURCE.text().length(); offset++) {
+            assertEquals(offset, SOURCE.offsetOf(SOURCE.locationOf(offset)));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> SOURCE.offsetOf(new SourceLocation(1, 5)));
+        assertThrows(IllegalArgumentException.class, () -> SOURCE.offsetOf(new SourceLocation(5, 1)));
+    }
+
+    @Test
+    void selectionOf() {
+        assertEquals(new SourceLocation(3, 2).toCharSelection(), SOURCE.selectionOf(5, 5));
+        assertEquals(
+            new SourceSelection(new SourceLocation(1, 2), new SourceLocation(3, 1)),
+            SOURCE.selectionOf(1, 4)
+        );
+    }
+}
@@ -0,0 +1,86 @@
+package com.statelang.tokenization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.statelang.diagnostics.Reporter;
+
+class TokenBufferTests {
+
+    @Test
+    void skipsIgnoredTokens() {
+        var reporter = new Reporter();
+        var buffer = TokenBuffer.tokenize(SourceText.fromString("test", "let x # comment\n:= 10;"), reporter);
+
+        assertEquals(5, buffer.size());
+        assertEquals(Token.Kind.KEYWORD_LET, buffer.kind(0));
+        assertEquals(Token.Kind.IDENTIFIER, buffer.kind(1));
+        assertEquals(Token.Kind.OPERATOR_ASSIGN, buffer.kind(2));
+        assertEquals(Token.Kind.LITERAL_NUMBER, buffer.kind(3));
+        assertEquals(Token.Kind.SEMICOLON, buffer.kind(4));
+
+        assertEquals(16, buffer.start(2));
+        assertEquals(2, buffer.length(2));
+        assertEquals(18, buffer.end(2));
+
+        assertFalse(reporter.hasErrors());
+    }
+
+    @Test
+    void textViews() {
+        var sourceText = SourceText.fromString("test", "state { A }\nlet counter := \"value\";");
+        var buffer = TokenBuffer.tokenize(sourceText, new Reporter());
+
+        assertEquals("counter", buffer.text(5).toString());
+        assertEquals("\"value\"", buffer.text(7).toString());
+        assertEquals(7, buffer.text(5).length());
+        assertEquals('c', buffer.text(5).charAt(0));
+
+        assertEquals(new SourceSelection(new SourceLocation(2, 5), new SourceLocation(2, 11)), buffer.selection(5));
+    }
+
+    @Test
+    void materializedTokens() {
+        var sourceText = SourceText.fromString("test", "when A {\n    x := x + 1;\n}");
+        var buffer = TokenBuffer.tokenize(sourceText, new Reporter());
+        var tokens = new Tokenizer(sourceText, new Reporter());
+
+        var index = 0;
+        while (tokens.hasNext()) {
+            var expected = tokens.next();
+            if (expected == null || expected.kind().ignored()) {
+                continue;
+            }
+
+            var actual = buffer.token(index++);
+            assertEquals(expected.kind(), actual.kind());
+            assertEquals(expected.text(), actual.text());
+            assertEquals(expected.selection(), actual.selection());
+        }
+
+        assertEquals(buffer.size(), index);
+        assertEquals(index, buffer.tokens().size());
+    }
+
+    @Test
+    void fixedTextsAreShared() {
+        var buffer = TokenBuffer.tokenize(SourceText.fromString("test", "when when := :="), new Reporter());
+
+        assertSame(buffer.token(0).text(), buffer.token(1).text());
+        assertSame(buffer.token(2).text(), buffer.token(3).text());
+    }
+
+    @Test
+    void reportsInvalidCharacters() {
+        var reporter = new Reporter();
+        var buffer = TokenBuffer.tokenize(SourceText.fromString("test", "a ? b"), reporter);
+
+        assertEquals(2, buffer.size());
+        assertTrue(reporter.hasErrors());
+        assertEquals(new SourceLocation(1, 3), reporter.reports().get(0).location());
+    }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -182,4 +183,86 @@ class TokenReaderTests {
         assertNotNull(reader.currentToken());
         assertEquals(Token.Kind.LITERAL_STRING, reader.currentToken().kind());
     }
+
+    @Test
+    void nestedBookmarks() {
+        var source = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            source.append(i).append(' ');
+        }
+
+        var reader = createReader(source.toString(), new Reporter());
+        var bookmarks = new TokenBookmark[1000];
+
+        for (int i = 0; i < bookmarks.length; i++) {
+            bookmarks[i] = reader.createBookmark();
+            reader.tryAdvance();
+        }
+
+        assertTrue(reader.atEnd());
+
+        for (int i = bookmarks.length - 1; i >= 0; i--) {
+            reader.backtrackTo(bookmarks[i]);
+            assertFalse(reader.atEnd());
+            assertEquals(Integer.toString(i), reader.currentToken().text());
+
+            bookmarks[i].close();
+        }
+    }
+
+    @Test
+    void bookmarkAtEnd() {
+        var reader = createReader("0 1", new Reporter());
+
+        reader.tryAdvance();
+        var lastToken = reader.currentToken();
+        reader.tryAdvance();
+
+        try (var bookmark = reader.createBookmark()) {
+            assertTrue(reader.atEnd());
+            assertSame(lastToken, reader.currentToken());
+
+            reader.backtrackTo(bookmark);
+            assertTrue(reader.atEnd());
+            assertFalse(reader.tryAdvance());
+        }
+    }
+
+    @Test
+    void bookmarksAreDiscardedInReverseOrder() {
+        var reader = createReader("0 1 2", new Reporter());
+
+        var outerBookmark = reader.createBookmark();
+        reader.tryAdvance();
+        var innerBookmark = reader.createBookmark();
+
+        assertThrows(IllegalStateException.class, outerBookmark::discard);
+
+        innerBookmark.discard();
+        innerBookmark.discard();
+        assertThrows(IllegalStateException.class, () -> reader.backtrackTo(innerBookmark));
+
+        reader.backtrackTo(outerBookmark);
+        assertEquals("0", reader.currentToken().text());
+        outerBookmark.discard();
+    }
+
+    @Test
+    void discardedBookmarkIsNotRevivedBySlotReuse() {
+        var reader = createReader("0 1 2", new Reporter());
+
+        var staleBookmark = reader.createBookmark();
+        staleBookmark.discard();
+
+        reader.tryAdvance();
+        var bookmark = reader.createBookmark();
+        reader.tryAdvance();
+
+        assertThrows(IllegalStateException.class, () -> reader.backtrackTo(staleBookmark));
+        assertEquals("2", reader.currentToken().text());
+
+        reader.backtrackTo(bookmark);
+        assertEquals("1", reader.currentToken().text());
+        bookmark.discard();
+    }
 }
@@ -0,0 +1,124 @@
+package com.statelang.tokenization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.statelang.diagnostics.Report;
+import com.statelang.diagnostics.Reporter;
+
+class TokenizerTests {
+
+    private record Tokenization(List<String> tokens, List<String> reports) {}
+
+    private static Tokenization tokenize(String text) {
+        var reporter = new Reporter();
+        var tokenizer = new Tokenizer(SourceText.fromString("test", text), reporter);
+
+        var tokens = new ArrayList<String>();
+        tokenizer.forEachRemaining(token -> {
+            if (token != null) {
+                tokens.add(token.toString());
+            }
+        });
+
+        return new Tokenization(tokens, reporter.reports().stream().map(Report::toString).toList());
+    }
+
+    private static Tokenization tokenizeWithRegex(String text) {
+        var reporter = new Reporter();
+        var tokens = new ArrayList<String>();
+
+        var index = 0;
+        var location = SourceLocation.FIRST_CHARACTER;
+
+        outer: while (index < text.length()) {
+            for (var tokenKind : Token.Kind.values()) {
+                var matcher = tokenKind.regex().matcher(text);
+
+                if (!matcher.find(index) || matcher.start() != index) {
+                    continue;
+                }
+
+                var tokenText = text.substring(index, matcher.end());
+                var tokenSelection = new SourceSelection(
+                    location, location.movedTrough(tokenText.substring(0, tokenText.length() - 1))
+                );
+                tokens.add(new Token(tokenSelection, tokenKind, tokenText).toString());
+
+                index = matcher.end();
+                location = location.movedTrough(tokenText);
+                continue outer;
+            }
+
+            reporter.report(
+                Report.builder()
+                    .selection(location.toCharSelection())
+                    .kind(Report.Kind.INVALID_TOKEN)
+            );
+
+            location = location.movedTrough(Character.toString(text.charAt(index)));
+            index++;
+        }
+
+        return new Tokenization(tokens, reporter.reports().stream().map(Report::toString).toList());
+    }
+
+    private static void assertSameAsRegex(String text) {
+        assertThat(tokenize(text)).as(text).isEqualTo(tokenizeWithRegex(text));
+    }
+
+    @Test
+    void program() {
+        assertSameAsRegex("""
+            state {
+                [color "red"] COUNTING,
+                STOPPED,
+            }
+
+            # comment
+            const max := 10.5;
+            let count := .5;
+
+            when COUNTING {
+                assert count <= max and not (count >= 100 or count != -1);
+                count := count * 2 / 3 % 4 + 1 - 0;
+                if count = max { state := STOPPED; } else { state := COUNTING; }
+            }
+            """);
+    }
+
+    @Test
+    void edgeCases() {
+        var sources = new String[] {
+            "", " ", "#", "# comment", "#\r\nx", "\"unterminated\nstring\"", "\"\"", "\"a\"\"b\"",
+            "1.", "1.2.3", ".5", "12ab", "x1 true1 truex _true states", "state\u00E9", "\u00E9state", "a_b_9",
+            ": ! := != <= >= < > =", "1..2", "\t\u000B\f\r\n", "a\u2028b", "#x\u0085y", "$ ^ & | ~ ?",
+        };
+
+        for (var source : sources) {
+            assertSameAsRegex(source);
+        }
+    }
+
+    @Test
+    void randomSources() {
+        var alphabet = "abstelfnotruw_019 .,;:=!<>+-*/%#\"\n\r\t(){}[]@\u00E9$";
+        var random = new Random(42);
+
+        for (int i = 0; i < 500; i++) {
+            var builder = new StringBuilder();
+            var length = random.nextInt(40);
+
+            for (int j = 0; j < length; j++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+
+            assertSameAsRegex(builder.toString());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+import type {
+	BinaryOperator,
+	CompiledProgram,
+	InstanceType,
+	Instruction,
+	SourceLocation,
+	StateMachine,
+	StateMachineState,
+	Symbol,
+	UnaryOperator,
+} from './model';
+
+const MAGIC = 0x534c4350;
+const VERSION = 3;
+
+const instanceTypes: readonly InstanceType[] = ['unknown', 'number', 'string', 'boolean'];
+
+const unaryOperators: readonly UnaryOperator[] = ['PLUS', 'MINUS', 'NOT'];
+
+const binaryOperators: readonly BinaryOperator[] = [
+	'PLUS',
+	'MINUS',
+	'MULTIPLY',
+	'DIVIDE',
+	'MODULO',
+	'LESS',
+	'LESS_OR_EQUAL',
+	'GREATER',
+	'GREATER_OR_EQUAL',
+	'EQUALS',
+	'NOT_EQUALS',
+	'AND',
+	'OR',
+];
+
+class BinaryReader {
+	readonly #view: DataView;
+	readonly #bytes: Uint8Array;
+	#offset = 0;
+
+	constructor(buffer: ArrayBuffer) {
+		this.#view = new DataView(buffer);
+		this.#bytes = new Uint8Array(buffer);
+	}
+
+	byte(): number {
+		if (this.#offset >= this.#bytes.length) {
+			throw new Error('unexpected end of compiled program');
+		}
+
+		return this.#bytes[this.#offset++];
+	}
+
+	int32(): number {
+		const value = this.#view.getInt32(this.#offset);
+		this.#offset += 4;
+		return value;
+	}
+
+	float64(): number {
+		const value = this.#view.getFloat64(this.#offset);
+		this.#offset += 8;
+		return value;
+	}
+
+	varInt(): number {
+		let value = 0;
+
+		for (let shift = 0; shift < 32; shift += 7) {
+			const b = this.byte();
+			value |= (b & 0x7f) << shift;
+
+			if ((b & 0x80) == 0) {
+				return value >>> 0;
+			}
+		}
+
+		throw new Error('malformed varint');
+	}
+
+	signedVarInt(): number {
+		const value = this.varInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	utf8(length: number): string {
+		const text = new TextDecoder().decode(this.#bytes.subarray(this.#offset, this.#offset + length));
+		this.#offset += length;
+		return text;
+	}
+}
+
+export function readCompiledProgram(buffer: ArrayBuffer): CompiledProgram {
+	const reader = new BinaryReader(buffer);
+
+	if (reader.int32() != MAGIC) {
+		throw new Error('not a compiled statelang program');
+	}
+
+	const version = reader.varInt();
+	if (version != VERSION) {
+		throw new Error(`unsupported compiled program version ${version}`);
+	}
+
+	const constantPool = Array.from({ length: reader.varInt() }, () => reader.utf8(reader.varInt()));
+	const constant = () => constantPool[reader.varInt()];
+
+	const states: StateMachineState[] = Array.from({ length: reader.varInt() }, () => {
+		const name = constant();
+		const attributes: Record<string, string> = {};
+
+		for (let i = reader.varInt(); i > 0; i--) {
+			attributes[constant()] = constant();
+		}
+
+		return { name, attributes };
+	});
+
+	const initialStateName = constant();
+
+	const transitions: Record<string, string[]> = {};
+	for (let i = reader.varInt(); i > 0; i--) {
+		const from = constant();
+		transitions[from] = Array.from({ length: reader.varInt() }, constant);
+	}
+
+	const stateMachine: StateMachine = {
+		initialState: states.find(state => state.name == initialStateName)!,
+		states,
+		transitions,
+	};
+
+	const symbols: Record<string, Symbol> = {};
+	for (let i = reader.varInt(); i > 0; i--) {
+		const kind = reader.byte();
+		const id = constant();
+
+		switch (kind) {
+			case 0:
+				symbols[id] = { type: 'state', id, stateName: id };
+				break;
+			case 1:
+				symbols[id] = { type: 'variable', id, variableName: id, variableType: instanceTypes[reader.byte()] };
+				break;
+			case 2:
+				symbols[id] = { type: 'constant', id, constantName: id, constantType: instanceTypes[reader.byte()] };
+				break;
+			default:
+				throw new Error(`unknown symbol kind ${kind}`);
+		}
+	}
+
+	const memoryKeys: string[] = [];
+	for (let i = reader.varInt(); i > 0; i--) {
+		memoryKeys.push(constant());
+	}
+
+	const instructions: Instruction[] = [];
+	const jumpTable: Record<string, number> = {};
+	let location: SourceLocation = { line: 1, column: 1 };
+
+	for (let i = reader.varInt(); i > 0; i--) {
+		const opcode = reader.byte();
+
+		switch (opcode) {
+			case 0: {
+				const label = constant();
+				jumpTable[label] = instructions.length;
+				instructions.push({ type: 'label', label });
+				break;
+			}
+			case 1:
+				instructions.push({ type: 'jump', destination: constant() });
+				break;
+			case 2:
+				instructions.push({ type: 'jump_ifn', destination: constant() });
+				break;
+			case 3:
+				instructions.push({ type: 'push', value: reader.float64() });
+				break;
+			case 4:
+				instructions.push({ type: 'push', value: constant() });
+				break;
+			case 5:
+			case 6:
+				instructions.push({ type: 'push', value: opcode == 5 });
+				break;
+			case 7:
+				instructions.push({ type: 'store', slot: reader.varInt() });
+				break;
+			case 8:
+				instructions.push({ type: 'load', slot: reader.varInt() });
+				break;
+			case 9:
+				instructions.push({ type: 'bin_op', operator: binaryOperators[reader.byte()] });
+				break;
+			case 10:
+				instructions.push({ type: 'un_op', operator: unaryOperators[reader.byte()] });
+				break;
+			case 11:
+			case 12:
+				instructions.push({ type: 'exit', success: opcode == 11 });
+				break;
+			case 13:
+				instructions.push({ type: 'state', state: constant() });
+				break;
+			case 14:
+				location = {
+					line: location.line + reader.signedVarInt(),
+					column: location.column + reader.signedVarInt(),
+				};
+				instructions.push({ type: 'src', location });
+				break;
+			case 15:
+				instructions.push({ type: 'push', value: reader.signedVarInt() });
+				break;
+			case 16:
+				instructions.push({ type: 'jump_if', destination: constant() });
+				break;
+			default:
+				throw new Error(`unknown opcode ${opcode}`);
+		}
+	}
+
+	return { stateMachine, instructions, jumpTable, symbols, memoryKeys };
+}
@@ -1,18 +1,34 @@
 import axios from 'axios';
 import { Optional } from '../utils';
-import type { Report, CompiledProgram, SourceText } from './model';
+import { readCompiledProgram } from './binary';
+import type { Report, CompiledProgram, SourceText, StateMachine, Symbol, Instruction } from './model';
 
 export type CompilationResult = {
 	reports: readonly Report[];
 	program: CompiledProgram | null;
 };
 
+type CompilationFrame =
+	| { type: 'report'; report: Report }
+	| {
+			type: 'program';
+			stateMachine: StateMachine;
+			jumpTable: Record<string, number>;
+			symbols: Record<string, Symbol>;
+			memoryKeys: string[];
+			instructionCount: number;
+	  }
+	| { type: 'instructions'; offset: number; instructions: Instruction[] }
+	| { type: 'end'; success: boolean };
+
+function compilerHost() {
+	return import.meta.env.DEV ? 'localhost:8080' : location.host || 'localhost:8080';
+}
+
 export async function compileSource(sourceText: SourceText): Promise<Optional<CompilationResult>> {
 	try {
-		const host = import.meta.env.DEV ? 'localhost:8080' : (location.host || 'localhost:8080');
-
 		const response = await axios.post<CompilationResult>(
-			`http://${host}/statelang/compile`,
+			`http://${compilerHost()}/statelang/compile`,
 			sourceText,
 		);
 
@@ -21,3 +37,92 @@ export async function compileSource(sourceText: SourceText): Promise<Optional<Co
 		return Optional.none();
 	}
 }
+
+export async function compileSourceBinary(
+	sourceText: SourceText,
+): Promise<Optional<CompiledProgram>> {
+	try {
+		const response = await axios.post<ArrayBuffer>(
+			`http://${compilerHost()}/statelang/compile/binary`,
+			sourceText,
+			{ responseType: 'arraybuffer' },
+		);
+
+		return Optional.some(readCompiledProgram(response.data));
+	} catch {
+		return Optional.none();
+	}
+}
+
+export async function compileSourceStreaming(
+	sourceText: SourceText,
+	onReport: (report: Report) => void,
+): Promise<Optional<CompilationResult>> {
+	try {
+		const response = await fetch(`http://${compilerHost()}/statelang/compile/stream`, {
+			method: 'POST',
+			headers: { 'Content-Type': 'application/json' },
+			body: JSON.stringify(sourceText),
+		});
+
+		if (!response.ok || !response.body) {
+			return Optional.none();
+		}
+
+		const reports: Report[] = [];
+		let program: CompiledProgram | null = null;
+		let ended = false;
+
+		const handleFrame = (frame: CompilationFrame) => {
+			switch (frame.type) {
+				case 'report':
+					reports.push(frame.report);
+					onReport(frame.report);
+					break;
+
+				case 'program': {
+					const { stateMachine, jumpTable, symbols, memoryKeys, instructionCount } = frame;
+					program = {
+						stateMachine,
+						jumpTable,
+						symbols,
+						memoryKeys,
+						instructions: new Array(instructionCount),
+					};
+					break;
+				}
+
+				case 'instructions':
+					frame.instructions.forEach((instruction, i) => {
+						program!.instructions[frame.offset + i] = instruction;
+					});
+					break;
+
+				case 'end':
+					ended = true;
+					break;
+			}
+		};
+
+		const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+		let buffered = '';
+
+		for (let chunk = await reader.read(); !chunk.done; chunk = await reader.read()) {
+			buffered += chunk.value;
+
+			let newlineIndex: number;
+			while ((newlineIndex = buffered.indexOf('\n')) >= 0) {
+				const line = buffered.slice(0, newlineIndex);
+				buffered = buffered.slice(newlineIndex + 1);
+
+				if (line) {
+					handleFrame(JSON.parse(line));
+				}
+			}
+		}
+
+		return Optional.someIf(ended, { reports, program });
+	} catch {
+		return Optional.none();
+	}
+}
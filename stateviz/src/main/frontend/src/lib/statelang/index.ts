@@ -1,6 +1,8 @@
+export * from './binary';
 export * from './compile';
 export * from './completion';
 export * from './interpreter';
+export * from './link';
 export * from './model';
 export * from './monacoConfig';
 export * from './report';
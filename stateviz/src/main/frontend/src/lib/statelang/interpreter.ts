@@ -1,8 +1,8 @@
 import { writable, type Readable } from 'svelte/store';
 import { Decimal } from 'decimal.js';
+import { type LinkedInstruction, type LinkedProgram, linkProgram } from './link';
 import {
 	type CompiledProgram,
-	type Instruction,
 	type InstanceType,
 	type SourceLocation,
 	type UnaryOperator,
@@ -27,7 +27,9 @@ type AllPairs<Elements extends string> = {
 export class RuntimeError extends Error {}
 
 export type InterpretationInfo = {
-	get memory(): ReadonlyMap<string, JsInstanceType>;
+	get memoryKeys(): readonly string[];
+	// indexed like memoryKeys, undefined until the slot is stored
+	get memory(): readonly (JsInstanceType | undefined)[];
 	get started(): boolean;
 	get running(): boolean;
 	get exited(): boolean;
@@ -41,18 +43,20 @@ export class Interpreter implements InterpretationInfo, Readable<InterpretationI
 	readonly #subscribe: Readable<InterpretationInfo>['subscribe'];
 	readonly #updateSubscribers: () => void;
 
-	readonly #instructions: Instruction[];
+	readonly #program: LinkedProgram;
 
-	#currentInstruction = -1;
+	#started = false;
+	#nextInstruction = 0;
+	#nextLocation = 0;
 	readonly #stack: JsInstanceType[] = [];
-	#memory: Map<string, JsInstanceType> = new Map();
+	#memory: (JsInstanceType | undefined)[];
 	#state: string | null = null;
 	#location: SourceLocation = { line: 1, column: 1 };
 	#exitStatus: boolean | null = null;
 	#error: RuntimeError | null = null;
 
 	readonly #instructionMap: {
-		[T in Instruction['type']]: (instruction: Instruction & { type: T }) => void;
+		[T in LinkedInstruction['type']]: (instruction: LinkedInstruction & { type: T }) => void;
 	};
 
 	constructor(compiledProgram: CompiledProgram) {
@@ -60,7 +64,8 @@ export class Interpreter implements InterpretationInfo, Readable<InterpretationI
 		this.#subscribe = subscribe;
 		this.#updateSubscribers = () => set(this);
 
-		this.#instructions = compiledProgram.instructions;
+		this.#program = linkProgram(compiledProgram);
+		this.#memory = new Array(this.#program.memoryKeys.length);
 
 		const unaryOperatorMap: {
 			[T in ValidInstanceType as `${UnaryOperator}_${T}`]?: (instance: JsInstanceTypeMap[T]) => any;
@@ -108,20 +113,20 @@ export class Interpreter implements InterpretationInfo, Readable<InterpretationI
 
 		this.#instructionMap = {
 			push: ({ value }) => this.#stack.push(typeof value == 'number' ? new Decimal(value) : value),
-			load: ({ memoryKey }) => this.#stack.push(this.#memory.get(memoryKey)!),
-			store: ({ memoryKey }) => this.#memory.set(memoryKey, this.#stack.pop()!),
-			label: () => {},
-			jump: ({ destination }) => {
-				this.#currentInstruction =
-					compiledProgram.jumpTable[destination] ?? this.#currentInstruction;
+			load: ({ slot }) => this.#stack.push(this.#memory[slot]!),
+			store: ({ slot }) => (this.#memory[slot] = this.#stack.pop()!),
+			jump: ({ target }) => this.#jumpTo(target),
+			jump_if: ({ target }) => {
+				if (this.#stack.pop() === true) {
+					this.#jumpTo(target);
+				}
 			},
-			jump_ifn: ({ destination }) => {
+			jump_ifn: ({ target }) => {
 				if (this.#stack.pop() === false) {
-					this.#instructionMap['jump']({ type: 'jump', destination });
+					this.#jumpTo(target);
 				}
 			},
 			state: ({ state }) => (this.#state = state),
-			src: ({ location }) => (this.#location = location),
 			exit: ({ success }) => (this.#exitStatus = success),
 			un_op: ({ operator }) => {
 				const instance = this.#stack.pop()!;
@@ -140,12 +145,16 @@ export class Interpreter implements InterpretationInfo, Readable<InterpretationI
 		};
 	}
 
-	get memory(): ReadonlyMap<string, JsInstanceType> {
+	get memoryKeys(): readonly string[] {
+		return this.#program.memoryKeys;
+	}
+
+	get memory(): readonly (JsInstanceType | undefined)[] {
 		return this.#memory;
 	}
 
 	get started(): boolean {
-		return this.#currentInstruction > -1;
+		return this.#started;
 	}
 
 	get running(): boolean {
@@ -178,9 +187,17 @@ export class Interpreter implements InterpretationInfo, Readable<InterpretationI
 
 	step(): SourceLocation {
 		const lastLocation = this.#location;
+		const { instructions, locationOffsets, locations } = this.#program;
+
+		this.#started = true;
 
 		while (!this.exited && locationEquals(lastLocation, this.#location)) {
-			const instruction = this.#instructions[++this.#currentInstruction];
+			if (this.#nextLocation < locationOffsets[this.#nextInstruction + 1]) {
+				this.#location = locations[this.#nextLocation++];
+				continue;
+			}
+
+			const instruction = instructions[this.#nextInstruction++];
 
 			try {
 				(this.#instructionMap as any)[instruction.type](instruction);
@@ -200,13 +217,20 @@ export class Interpreter implements InterpretationInfo, Readable<InterpretationI
 	}
 
 	reset() {
-		this.#currentInstruction = -1;
+		this.#started = false;
+		this.#nextInstruction = 0;
+		this.#nextLocation = 0;
 		this.#exitStatus = null;
 		this.#error = null;
 		this.#state = null;
 		this.#location = { line: 1, column: 1 };
-		this.#memory = new Map();
+		this.#memory = new Array(this.#program.memoryKeys.length);
 
 		this.#updateSubscribers();
 	}
+
+	#jumpTo(target: number) {
+		this.#nextInstruction = target;
+		this.#nextLocation = this.#program.locationOffsets[target];
+	}
 }
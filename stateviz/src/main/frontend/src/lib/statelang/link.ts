@@ -0,0 +1,72 @@
+import type { CompiledProgram, Instruction, SourceLocation, StateMachine, Symbol } from './model';
+
+export type LinkedInstruction =
+	| Exclude<Instruction, { type: 'label' | 'src' | 'jump' | 'jump_if' | 'jump_ifn' }>
+	| { type: 'jump'; target: number }
+	| { type: 'jump_if'; target: number }
+	| { type: 'jump_ifn'; target: number };
+
+export type LinkedProgram = {
+	stateMachine: StateMachine;
+	symbols: Record<string, Symbol>;
+	memoryKeys: string[];
+	instructions: LinkedInstruction[];
+	// locations set before instruction i are locations[locationOffsets[i]]
+	// up to locations[locationOffsets[i + 1]]
+	locationOffsets: number[];
+	locations: SourceLocation[];
+};
+
+export function linkProgram(program: CompiledProgram): LinkedProgram {
+	const labelTargets = new Map<string, number>();
+	let instructionCount = 0;
+
+	for (const instruction of program.instructions) {
+		if (instruction.type == 'label') {
+			labelTargets.set(instruction.label, instructionCount);
+		} else if (instruction.type != 'src') {
+			instructionCount++;
+		}
+	}
+
+	const instructions: LinkedInstruction[] = [];
+	const locationOffsets = [0];
+	const locations: SourceLocation[] = [];
+
+	for (const instruction of program.instructions) {
+		switch (instruction.type) {
+			case 'label':
+				break;
+
+			case 'src':
+				locations.push(instruction.location);
+				break;
+
+			case 'jump':
+			case 'jump_if':
+			case 'jump_ifn': {
+				// jumps to undefined labels fall through
+				const target = labelTargets.get(instruction.destination) ?? instructions.length + 1;
+				instructions.push({ type: instruction.type, target });
+				locationOffsets.push(locations.length);
+				break;
+			}
+
+			default:
+				instructions.push(instruction);
+				locationOffsets.push(locations.length);
+				break;
+		}
+	}
+
+	locationOffsets.push(locations.length);
+
+	return {
+		stateMachine: program.stateMachine,
+		symbols: program.symbols,
+		memoryKeys: program.memoryKeys,
+		instructions,
+		locationOffsets,
+		locations,
+	};
+}
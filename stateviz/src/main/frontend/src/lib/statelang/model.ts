@@ -80,11 +80,12 @@ export type Instruction = TypedObject<{
 	bin_op: { operator: BinaryOperator };
 	exit: { success: boolean };
 	jump: { destination: string };
+	jump_if: { destination: string };
 	jump_ifn: { destination: string };
 	label: { label: string };
 	push: { value: string | number | boolean };
-	store: { memoryKey: string };
-	load: { memoryKey: string };
+	store: { slot: number };
+	load: { slot: number };
 	src: { location: SourceLocation };
 	state: { state: string };
 }>;
@@ -100,6 +101,8 @@ export type CompiledProgram = {
 	instructions: Instruction[];
 	jumpTable: Record<string, number>;
 	symbols: Record<string, Symbol>;
+	// names of the memory slots of load and store instructions
+	memoryKeys: string[];
 };
 
 export const stateLangSyntax = {
@@ -1,5 +1,7 @@
 package com.stateviz.configuration;
 
+import java.util.Set;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,6 +13,7 @@ import com.statelang.compilation.instruction.*;
 import com.statelang.compilation.symbol.*;
 import com.statelang.diagnostics.Report;
 import com.statelang.model.InstanceType;
+import com.statelang.model.StateMachine;
 import com.statelang.tokenization.Token;
 
 @Configuration
@@ -26,6 +29,7 @@ public class ObjectMapperConfiguration {
         mapper.addMixIn(Instruction.class, InstructionMixin.class);
         mapper.addMixIn(Symbol.class, SymbolMixin.class);
         mapper.addMixIn(Report.class, ReportMixin.class);
+        mapper.addMixIn(StateMachine.class, StateMachineMixin.class);
         mapper.addMixIn(Token.Kind.class, TokenKindMixin.class);
         mapper.addMixIn(StateSymbol.class, StateSymbolMixin.class);
         mapper.addMixIn(VariableSymbol.class, VariableSymbolMixin.class);
@@ -47,6 +51,7 @@ public class ObjectMapperConfiguration {
         @JsonSubTypes.Type(value = UnaryOperatorInstruction.class, name = "un_op"),
         @JsonSubTypes.Type(value = ExitInstruction.class, name = "exit"),
         @JsonSubTypes.Type(value = JumpToInstruction.class, name = "jump"),
+        @JsonSubTypes.Type(value = JumpToIfInstruction.class, name = "jump_if"),
         @JsonSubTypes.Type(value = JumpToIfNotInstruction.class, name = "jump_ifn"),
         @JsonSubTypes.Type(value = LabelInstruction.class, name = "label"),
         @JsonSubTypes.Type(value = PushInstruction.class, name = "push"),
@@ -67,9 +72,23 @@ public class ObjectMapperConfiguration {
     private interface SymbolMixin {
     }
 
+    @JsonIgnoreProperties("expectedTokenKindsMask")
     private interface ReportMixin {
         @JsonProperty
         Report.Severity severity();
+
+        @JsonProperty
+        Set<Token.Kind> expectedTokenKinds();
+    }
+
+    @JsonIgnoreProperties({
+        "indexedStates",
+        "stateIds",
+        "initialStateId",
+        "transitionOffsets",
+        "transitionTargets",
+    })
+    private interface StateMachineMixin {
     }
 
     private interface TokenKindMixin {
@@ -1,24 +1,43 @@
 package com.stateviz.controllers;
 
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.statelang.compilation.ProgramCompiler;
-import com.statelang.diagnostics.Reporter;
-import com.stateviz.models.CompilationResult;
+import com.stateviz.models.CompilationCacheStats;
 import com.stateviz.models.SourceTextData;
+import com.stateviz.services.CompilationService;
+
+import lombok.RequiredArgsConstructor;
 
 @RestController
+@RequiredArgsConstructor
 public class StatelangController {
 
+    private final CompilationService compilationService;
+
     @PostMapping(path = "/statelang/compile", consumes = "application/json", produces = "application/json")
-    public CompilationResult compile(@RequestBody SourceTextData sourceTextData) {
-        var reporter = new Reporter();
+    public byte[] compile(@RequestBody SourceTextData sourceTextData) {
+        return compilationService.compileToJson(sourceTextData);
+    }
 
-        var sourceText = sourceTextData.toSourceText();
-        var program = ProgramCompiler.compile(reporter, sourceText);
+    @PostMapping(path = "/statelang/compile/binary", consumes = "application/json", produces = "application/octet-stream")
+    public ResponseEntity<byte[]> compileBinary(@RequestBody SourceTextData sourceTextData) {
+        return compilationService.compileToBinary(sourceTextData)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.unprocessableEntity().build());
+    }
+
+    @PostMapping(path = "/statelang/compile/stream", consumes = "application/json", produces = "application/x-ndjson")
+    public StreamingResponseBody compileStream(@RequestBody SourceTextData sourceTextData) {
+        return outputStream -> compilationService.compileToStream(sourceTextData, outputStream);
+    }
 
-        return new CompilationResult(reporter.reports(), program);
+    @GetMapping(path = "/statelang/compile/cache", produces = "application/json")
+    public CompilationCacheStats compileCacheStats() {
+        return compilationService.cacheStats();
     }
 }
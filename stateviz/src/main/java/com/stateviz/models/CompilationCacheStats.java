@@ -0,0 +1,20 @@
+package com.stateviz.models;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public final class CompilationCacheStats {
+
+    @Getter
+    private final long size;
+
+    @Getter
+    private final long hitCount;
+
+    @Getter
+    private final long missCount;
+
+    @Getter
+    private final long evictionCount;
+}
@@ -0,0 +1,39 @@
+package com.stateviz.models;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.statelang.compilation.instruction.Instruction;
+import com.statelang.compilation.symbol.Symbol;
+import com.statelang.diagnostics.Report;
+import com.statelang.model.StateMachine;
+
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "type")
+@JsonSubTypes({
+    @JsonSubTypes.Type(value = CompilationFrame.ReportFrame.class, name = "report"),
+    @JsonSubTypes.Type(value = CompilationFrame.ProgramFrame.class, name = "program"),
+    @JsonSubTypes.Type(value = CompilationFrame.InstructionsFrame.class, name = "instructions"),
+    @JsonSubTypes.Type(value = CompilationFrame.EndFrame.class, name = "end"),
+})
+public sealed interface CompilationFrame {
+
+    record ReportFrame(Report report) implements CompilationFrame {
+    }
+
+    record ProgramFrame(
+        StateMachine stateMachine,
+        Map<String, Integer> jumpTable,
+        Map<String, Symbol> symbols,
+        List<String> memoryKeys,
+        int instructionCount
+    ) implements CompilationFrame {
+    }
+
+    record InstructionsFrame(int offset, List<Instruction> instructions) implements CompilationFrame {
+    }
+
+    record EndFrame(boolean success) implements CompilationFrame {
+    }
+}
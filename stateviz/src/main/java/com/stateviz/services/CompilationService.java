@@ -0,0 +1,224 @@
+package com.stateviz.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.statelang.compilation.CompiledProgram;
+import com.statelang.compilation.CompiledProgramWriter;
+import com.statelang.compilation.ProgramCompiler;
+import com.statelang.diagnostics.Reporter;
+import com.stateviz.models.CompilationCacheStats;
+import com.stateviz.models.CompilationFrame;
+import com.stateviz.models.CompilationResult;
+import com.stateviz.models.SourceTextData;
+
+@Service
+public class CompilationService {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private static final int INSTRUCTION_CHUNK_SIZE = 1024;
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache<HashCode, byte[]> cache;
+
+    private final int maxStreamEntryBytes;
+
+    public CompilationService(
+        ObjectMapper objectMapper,
+        @Value("${stateviz.compilation-cache.max-size-bytes:33554432}") long maxSizeBytes,
+        @Value("${stateviz.compilation-cache.expire-after-access:PT10M}") Duration expireAfterAccess,
+        @Value("${stateviz.compilation-cache.max-stream-entry-bytes:1048576}") int maxStreamEntryBytes)
+    {
+        this.objectMapper = objectMapper;
+        this.maxStreamEntryBytes = maxStreamEntryBytes;
+
+        cache = CacheBuilder.newBuilder()
+            .maximumWeight(maxSizeBytes)
+            .<HashCode, byte[]>weigher((key, json) -> json.length + ENTRY_OVERHEAD_BYTES)
+            .expireAfterAccess(expireAfterAccess)
+            .recordStats()
+            .build();
+    }
+
+    public CompilationResult compile(SourceTextData sourceTextData) {
+        var reporter = new Reporter();
+
+        var sourceText = sourceTextData.toSourceText();
+        var program = ProgramCompiler.compile(reporter, sourceText, ForkJoinPool.commonPool());
+
+        return new CompilationResult(reporter.reports(), program);
+    }
+
+    public byte[] compileToJson(SourceTextData sourceTextData) {
+        var key = cacheKey("json", sourceTextData);
+
+        try {
+            return cache.get(key, () -> serialize(compile(sourceTextData)));
+        } catch (ExecutionException exception) {
+            Throwables.throwIfUnchecked(exception.getCause());
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    public Optional<byte[]> compileToBinary(SourceTextData sourceTextData) {
+        return compile(sourceTextData).program().map(CompiledProgramWriter::toBytes);
+    }
+
+    /**
+     * Writes the frames straight to the response as they are produced.
+     * A copy is kept for the cache only while the response stays below
+     * the stream entry limit, so memory does not grow with the program.
+     */
+    public void compileToStream(SourceTextData sourceTextData, OutputStream outputStream) throws IOException {
+        var key = cacheKey("ndjson", sourceTextData);
+
+        var cachedStream = cache.getIfPresent(key);
+        if (cachedStream != null) {
+            outputStream.write(cachedStream);
+            outputStream.flush();
+            return;
+        }
+
+        var frameWriter = objectMapper.writerFor(CompilationFrame.class)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        var frameStream = new CachingOutputStream(outputStream, maxStreamEntryBytes);
+
+        var reporter = new Reporter(report -> {
+            try {
+                writeFrame(frameWriter, frameStream, new CompilationFrame.ReportFrame(report));
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+
+        var sourceText = sourceTextData.toSourceText();
+
+        Optional<CompiledProgram> compiledProgram;
+        try {
+            compiledProgram = ProgramCompiler.compile(reporter, sourceText, ForkJoinPool.commonPool());
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+
+        if (compiledProgram.isPresent()) {
+            var program = compiledProgram.get();
+            var instructions = program.instructions();
+
+            writeFrame(frameWriter, frameStream, new CompilationFrame.ProgramFrame(
+                program.stateMachine(),
+                program.jumpTable(),
+                program.symbols(),
+                program.memoryKeys(),
+                instructions.size()
+            ));
+
+            for (int offset = 0; offset < instructions.size(); offset += INSTRUCTION_CHUNK_SIZE) {
+                var chunk = instructions.subList(offset, Math.min(offset + INSTRUCTION_CHUNK_SIZE, instructions.size()));
+                writeFrame(frameWriter, frameStream, new CompilationFrame.InstructionsFrame(offset, chunk));
+            }
+        }
+
+        writeFrame(frameWriter, frameStream, new CompilationFrame.EndFrame(compiledProgram.isPresent()));
+
+        frameStream.copy().ifPresent(copy -> cache.put(key, copy));
+    }
+
+    public CompilationCacheStats cacheStats() {
+        var stats = cache.stats();
+
+        return new CompilationCacheStats(
+            cache.size(),
+            stats.hitCount(),
+            stats.missCount(),
+            stats.evictionCount()
+        );
+    }
+
+    private static HashCode cacheKey(String format, SourceTextData sourceTextData) {
+        return Hashing.sha256().newHasher()
+            .putString(format, StandardCharsets.UTF_8)
+            .putByte((byte) 0)
+            .putString(sourceTextData.text(), StandardCharsets.UTF_8)
+            .hash();
+    }
+
+    private static void writeFrame(ObjectWriter frameWriter, OutputStream outputStream, CompilationFrame frame)
+        throws IOException
+    {
+        frameWriter.writeValue(outputStream, frame);
+        outputStream.write('\n');
+        outputStream.flush();
+    }
+
+    private byte[] serialize(CompilationResult compilationResult) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(compilationResult);
+    }
+
+    /**
+     * Passes everything through to the response and keeps a copy of it,
+     * dropping the copy as soon as it would exceed the given size.
+     */
+    private static final class CachingOutputStream extends FilterOutputStream {
+
+        private final int maxCopyBytes;
+
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        CachingOutputStream(OutputStream outputStream, int maxCopyBytes) {
+            super(outputStream);
+            this.maxCopyBytes = maxCopyBytes;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+
+            if (keepsCopyOf(1)) {
+                copy.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+
+            if (keepsCopyOf(length)) {
+                copy.write(bytes, offset, length);
+            }
+        }
+
+        Optional<byte[]> copy() {
+            return Optional.ofNullable(copy).map(ByteArrayOutputStream::toByteArray);
+        }
+
+        private boolean keepsCopyOf(int length) {
+            if (copy != null && copy.size() + length > maxCopyBytes) {
+                copy = null;
+            }
+
+            return copy != null;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.stateviz.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.statelang.compilation.CompiledProgramReader;
+import com.stateviz.models.SourceTextData;
+
+@SpringBootTest
+class CompilationServiceTests {
+
+	@Autowired
+	private CompilationService compilationService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void repeatedCompilationIsCached() throws Exception {
+		var sourceTextData = objectMapper.readValue("""
+			{ "descriptor": "test", "text": "state { A, B }\\nwhen A { state := B; }" }
+			""", SourceTextData.class);
+
+		var statsBefore = compilationService.cacheStats();
+
+		var first = compilationService.compileToJson(sourceTextData);
+		var second = compilationService.compileToJson(sourceTextData);
+
+		assertThat(second).isSameAs(first);
+		assertThat(first).isEqualTo(objectMapper.writeValueAsBytes(compilationService.compile(sourceTextData)));
+
+		var statsAfter = compilationService.cacheStats();
+		assertThat(statsAfter.missCount() - statsBefore.missCount()).isEqualTo(1);
+		assertThat(statsAfter.hitCount() - statsBefore.hitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void streamedFramesMatchCompilationResult() throws Exception {
+		var sourceTextData = chainedStatesSource(200);
+
+		var frames = streamFrames(sourceTextData);
+		var expected = objectMapper.readTree(compilationService.compileToJson(sourceTextData));
+		var expectedProgram = expected.get("program");
+
+		assertThat(framesOfType(frames, "report")).hasSize(expected.get("reports").size());
+
+		var programFrame = framesOfType(frames, "program").get(0);
+		assertThat(programFrame.get("stateMachine")).isEqualTo(expectedProgram.get("stateMachine"));
+		assertThat(programFrame.get("jumpTable")).isEqualTo(expectedProgram.get("jumpTable"));
+		assertThat(programFrame.get("symbols")).isEqualTo(expectedProgram.get("symbols"));
+		assertThat(programFrame.get("memoryKeys")).isEqualTo(expectedProgram.get("memoryKeys"));
+		assertThat(programFrame.get("memoryKeys")).isNotEmpty();
+
+		var instructions = objectMapper.createArrayNode();
+		var instructionFrames = framesOfType(frames, "instructions");
+		for (var frame : instructionFrames) {
+			assertThat(frame.get("offset").asInt()).isEqualTo(instructions.size());
+			frame.get("instructions").forEach(instructions::add);
+		}
+
+		assertThat(instructionFrames).hasSizeGreaterThan(1);
+		assertThat(instructions.size()).isEqualTo(programFrame.get("instructionCount").asInt());
+		assertThat(instructions).isEqualTo(expectedProgram.get("instructions"));
+
+		var end = frames.get(frames.size() - 1);
+		assertThat(end.get("type").asText()).isEqualTo("end");
+		assertThat(end.get("success").asBoolean()).isTrue();
+	}
+
+	@Test
+	void streamedReportsPrecedeEnd() throws Exception {
+		var sourceTextData = objectMapper.readValue("""
+			{ "descriptor": "test", "text": "state { A, B }\\nwhen C { state := B; }" }
+			""", SourceTextData.class);
+
+		var frames = streamFrames(sourceTextData);
+
+		assertThat(frames.get(0).get("type").asText()).isEqualTo("report");
+		assertThat(frames.get(0).get("report").get("severity").asText()).isEqualTo("ERROR");
+		assertThat(frames.get(0).get("report").has("expectedTokenKinds")).isTrue();
+		assertThat(frames.get(0).get("report").has("expectedTokenKindsMask")).isFalse();
+		assertThat(framesOfType(frames, "program")).isEmpty();
+
+		var end = frames.get(frames.size() - 1);
+		assertThat(end.get("type").asText()).isEqualTo("end");
+		assertThat(end.get("success").asBoolean()).isFalse();
+	}
+
+	@Test
+	void repeatedStreamIsCached() throws Exception {
+		var sourceTextData = objectMapper.readValue("""
+			{ "descriptor": "test", "text": "state { A, B }\\nlet x := 1;\\nwhen A { x := y; state := B; }" }
+			""", SourceTextData.class);
+
+		var statsBefore = compilationService.cacheStats();
+
+		var first = new ByteArrayOutputStream();
+		compilationService.compileToStream(sourceTextData, first);
+
+		var second = new ByteArrayOutputStream();
+		compilationService.compileToStream(sourceTextData, second);
+
+		assertThat(second.toByteArray()).isEqualTo(first.toByteArray());
+
+		var statsAfter = compilationService.cacheStats();
+		assertThat(statsAfter.missCount() - statsBefore.missCount()).isEqualTo(1);
+		assertThat(statsAfter.hitCount() - statsBefore.hitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void largeStreamIsNotCopiedForTheCache() throws Exception {
+		var smallStreamService = new CompilationService(objectMapper, 1 << 20, Duration.ofMinutes(1), 4096);
+		var sourceTextData = chainedStatesSource(200);
+
+		var first = new ByteArrayOutputStream();
+		smallStreamService.compileToStream(sourceTextData, first);
+
+		var second = new ByteArrayOutputStream();
+		smallStreamService.compileToStream(sourceTextData, second);
+
+		assertThat(first.size()).isGreaterThan(4096);
+		assertThat(second.toByteArray()).isEqualTo(first.toByteArray());
+
+		var stats = smallStreamService.cacheStats();
+		assertThat(stats.size()).isZero();
+		assertThat(stats.hitCount()).isZero();
+	}
+
+	@Test
+	void binaryProgramIsMuchSmallerThanJson() throws Exception {
+		var sourceTextData = chainedStatesSource(200);
+
+		var json = objectMapper.readTree(compilationService.compileToJson(sourceTextData));
+		var jsonProgramSize = objectMapper.writeValueAsBytes(json.get("program")).length;
+
+		var binary = compilationService.compileToBinary(sourceTextData).orElseThrow();
+		var decoded = CompiledProgramReader.fromBytes(binary);
+
+		assertThat(objectMapper.<JsonNode>valueToTree(decoded)).isEqualTo(json.get("program"));
+		assertThat(binary.length * 9).isLessThan(jsonProgramSize);
+	}
+
+	private SourceTextData chainedStatesSource(int stateCount) throws Exception {
+		var text = new StringBuilder("state { S0");
+		for (int i = 1; i < stateCount; i++) {
+			text.append(", S").append(i);
+		}
+		text.append(" }\nlet x := 0;\n");
+		for (int i = 0; i < stateCount - 1; i++) {
+			text.append("when S%d { x := x + 1; if x > 10 { state := S%d; } }\n".formatted(i, i + 1));
+		}
+
+		return objectMapper.treeToValue(
+			objectMapper.createObjectNode().put("descriptor", "test").put("text", text.toString()),
+			SourceTextData.class);
+	}
+
+	private List<JsonNode> streamFrames(SourceTextData sourceTextData) throws IOException {
+		var outputStream = new ByteArrayOutputStream();
+		compilationService.compileToStream(sourceTextData, outputStream);
+
+		return outputStream.toString().lines().map(line -> {
+			try {
+				return objectMapper.readTree(line);
+			} catch (IOException exception) {
+				throw new UncheckedIOException(exception);
+			}
+		}).toList();
+	}
+
+	private static List<JsonNode> framesOfType(List<JsonNode> frames, String type) {
+		return frames.stream().filter(frame -> frame.get("type").asText().equals(type)).toList();
+	}
+}